@@ -0,0 +1,101 @@
+package com.example.inventoryservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.concurrency")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Header that marks a request as checkout-critical.
+     */
+    private String priorityHeader = "X-Request-Priority";
+
+    private String priorityValue = "checkout";
+
+    /**
+     * Extra share of the limit that priority requests may use once the regular
+     * budget is exhausted.
+     */
+    private double priorityHeadroom = 0.2;
+
+    private int retryAfterSeconds = 1;
+
+    private Budgets budgets = new Budgets();
+
+    public enum EndpointClass {
+        MUTATION,
+        POINT_READ,
+        BULK_READ
+    }
+
+    /**
+     * One field per class rather than a map: a bound map would replace each
+     * class's defaults with a plain {@link Budget} as soon as any of its
+     * properties is set, whereas fields are bound onto the existing instance.
+     */
+    @Data
+    public static class Budgets {
+
+        private Budget mutation = new Budget(40, 4, 200);
+        private Budget pointRead = new Budget(60, 4, 400);
+        private Budget bulkRead = new Budget(10, 1, 50);
+
+        public Budget get(EndpointClass endpointClass) {
+            return switch (endpointClass) {
+                case MUTATION -> mutation;
+                case POINT_READ -> pointRead;
+                case BULK_READ -> bulkRead;
+            };
+        }
+    }
+
+    @Data
+    public static class Budget {
+
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+
+        /**
+         * Short-term latency may rise to this multiple of the long-term average
+         * before it counts as congestion and shrinks the limit.
+         */
+        private double tolerance = 2.0;
+
+        /**
+         * Factor applied to the limit, at most once per sampling window, when
+         * requests in the window failed.
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * Minimum sampling window; a window also lasts at least one average round trip.
+         */
+        private long windowMs = 100;
+
+        /**
+         * Number of windows the long-term latency average spans.
+         */
+        private int longWindow = 50;
+
+        /**
+         * Fraction of the distance to the computed limit covered per window.
+         */
+        private double smoothing = 0.2;
+
+        private Budget(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        public Budget() {
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.inventoryservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.ledger")
+public class LedgerProperties {
+
+    /**
+     * Movements buffered for the writer; beyond this, committing threads write
+     * their movements themselves (counted in {@code inventory.ledger.overflow-writes}).
+     */
+    private int queueCapacity = 100_000;
+
+    private int batchSize = 500;
+
+    private long flushIntervalMs = 200;
+
+    private long snapshotIntervalMs = 300_000;
+
+    /**
+     * Movements newer than this are left for the next snapshot so that rows still
+     * waiting in the write buffer are not skipped.
+     */
+    private long snapshotSettleMs = 10_000;
+}
@@ -0,0 +1,22 @@
+package com.example.inventoryservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.locations")
+public class LocationStockProperties {
+
+    /**
+     * Warehouse that receives item-level stock changes, initial stock on create,
+     * and the stock an item held before it was first tracked per location.
+     */
+    private String defaultWarehouse = "DEFAULT";
+
+    /**
+     * How often item totals are recomputed from their location rows.
+     */
+    private long rollupIntervalMs = 200;
+}
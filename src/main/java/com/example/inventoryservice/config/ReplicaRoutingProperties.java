@@ -0,0 +1,49 @@
+package com.example.inventoryservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replicas whose last replicated heartbeat is older than this are skipped.
+     * Should be comfortably larger than the heartbeat interval.
+     */
+    private long maxLagMs = 5_000;
+
+    private long heartbeatIntervalMs = 500;
+
+    /**
+     * Key of this instance's heartbeat row, so that each instance measures lag
+     * against its own writes. Defaults to the host name.
+     */
+    private String instanceId;
+
+    /**
+     * Returns the primary's current time in epoch milliseconds. Heartbeats and
+     * consistency tokens are both taken from it, so skew between application
+     * clocks does not matter.
+     */
+    private String primaryClockQuery = "SELECT CAST(UNIX_TIMESTAMP(CURRENT_TIMESTAMP(3)) * 1000 AS SIGNED)";
+
+    private String consistencyTokenHeader = "X-Consistency-Token";
+
+    @Data
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
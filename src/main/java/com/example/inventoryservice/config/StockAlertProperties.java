@@ -0,0 +1,38 @@
+package com.example.inventoryservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.alerts")
+public class StockAlertProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Units above the minimum stock level an item must reach before an active
+     * low-stock alert is cleared.
+     */
+    private int hysteresis = 5;
+
+    /**
+     * Maximum number of items waiting for alert evaluation.
+     */
+    private int queueCapacity = 10000;
+
+    private Webhook webhook = new Webhook();
+
+    @Data
+    public static class Webhook {
+
+        private String url;
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        private Duration readTimeout = Duration.ofSeconds(5);
+    }
+}
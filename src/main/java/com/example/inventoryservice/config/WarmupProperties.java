@@ -0,0 +1,32 @@
+package com.example.inventoryservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Number of most frequently accessed items to preload before reporting ready.
+     */
+    private int hotItems = 100;
+
+    /**
+     * Passes over the hot request paths used to trigger JIT compilation.
+     */
+    private int iterations = 200;
+
+    private boolean primeConnectionPool = true;
+
+    /**
+     * File the access-frequency sketch is persisted to between restarts.
+     */
+    private String sketchFile = "data/access-frequency.txt";
+
+    private int maxTrackedItems = 10_000;
+}
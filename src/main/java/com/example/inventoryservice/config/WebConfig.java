@@ -0,0 +1,39 @@
+package com.example.inventoryservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    // Spring MVC registers its own CBOR converter when jackson-dataformat-cbor is on the
+    // classpath, built without Boot's spring.jackson.* customizations. Replace it with one
+    // built from Boot's builder, placed right after the JSON converter so JSON stays the
+    // default; clients opt in with "Accept: application/cbor".
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2CborHttpMessageConverter cbor = new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build());
+
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        int position = converters.size();
+        for (int i = converters.size() - 1; i >= 0; i--) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                position = i + 1;
+                break;
+            }
+        }
+        converters.add(position, cbor);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.inventoryservice.controller;
 
 import com.example.inventoryservice.dto.*;
+import com.example.inventoryservice.serialization.StreamingJson;
 import com.example.inventoryservice.service.InventoryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +40,7 @@ public class InventoryController {
     }
     
     @GetMapping
+    @StreamingJson
     public ResponseEntity<ApiResponse<List<InventoryItemDto>>> getAllItems(
             @RequestParam(required = false) String category) {
         log.info("REST request to get all inventory items. Category filter: {}", category);
@@ -54,6 +56,7 @@ public class InventoryController {
     }
     
     @GetMapping("/low-stock")
+    @StreamingJson
     public ResponseEntity<ApiResponse<List<InventoryItemDto>>> getLowStockItems() {
         log.info("REST request to get low stock items");
         
@@ -62,6 +65,7 @@ public class InventoryController {
     }
     
     @GetMapping("/out-of-stock")
+    @StreamingJson
     public ResponseEntity<ApiResponse<List<InventoryItemDto>>> getOutOfStockItems() {
         log.info("REST request to get out of stock items");
         
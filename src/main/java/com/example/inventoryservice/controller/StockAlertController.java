@@ -0,0 +1,26 @@
+package com.example.inventoryservice.controller;
+
+import com.example.inventoryservice.event.SseStockAlertSink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/inventory/alerts")
+@RequiredArgsConstructor
+public class StockAlertController {
+
+    private final SseStockAlertSink sseStockAlertSink;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts() {
+        log.info("REST request to subscribe to stock alerts");
+
+        return sseStockAlertSink.subscribe();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.inventoryservice.controller;
+
+import com.example.inventoryservice.dto.ApiResponse;
+import com.example.inventoryservice.dto.StockAuditReportDto;
+import com.example.inventoryservice.dto.StockMovementDto;
+import com.example.inventoryservice.service.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/inventory/{id}/ledger")
+@RequiredArgsConstructor
+public class StockLedgerController {
+    
+    private final StockLedgerService stockLedgerService;
+    
+    @GetMapping("/movements")
+    public ResponseEntity<ApiResponse<List<StockMovementDto>>> getMovements(
+            @PathVariable String id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("REST request to get stock movements for item ID: {} between {} and {}", id, from, to);
+        
+        List<StockMovementDto> movements = stockLedgerService.getMovements(id, from, to);
+        return ResponseEntity.ok(ApiResponse.success(movements));
+    }
+    
+    @GetMapping("/stock")
+    public ResponseEntity<ApiResponse<Integer>> getStockAt(
+            @PathVariable String id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        log.info("REST request to get stock for item ID: {} at {}", id, at);
+        
+        int quantity = stockLedgerService.getStockAt(id, at);
+        return ResponseEntity.ok(ApiResponse.success(quantity));
+    }
+    
+    @GetMapping("/report")
+    public ResponseEntity<ApiResponse<StockAuditReportDto>> getAuditReport(
+            @PathVariable String id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("REST request to get stock audit report for item ID: {} between {} and {}", id, from, to);
+        
+        StockAuditReportDto report = stockLedgerService.getAuditReport(id, from, to);
+        return ResponseEntity.ok(ApiResponse.success(report));
+    }
+}
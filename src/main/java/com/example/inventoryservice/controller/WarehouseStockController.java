@@ -0,0 +1,62 @@
+package com.example.inventoryservice.controller;
+
+import com.example.inventoryservice.dto.ApiResponse;
+import com.example.inventoryservice.dto.LocationStockDto;
+import com.example.inventoryservice.dto.StockUpdateRequest;
+import com.example.inventoryservice.service.WarehouseStockService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/inventory/{id}/locations")
+@RequiredArgsConstructor
+public class WarehouseStockController {
+    
+    private final WarehouseStockService warehouseStockService;
+    
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<LocationStockDto>>> getLocations(@PathVariable String id) {
+        log.info("REST request to get stock locations for item ID: {}", id);
+        
+        List<LocationStockDto> locations = warehouseStockService.getLocations(id);
+        return ResponseEntity.ok(ApiResponse.success(locations));
+    }
+    
+    @PostMapping("/{warehouseCode}/stock/add")
+    public ResponseEntity<ApiResponse<LocationStockDto>> addStock(
+            @PathVariable String id,
+            @PathVariable String warehouseCode,
+            @Valid @RequestBody StockUpdateRequest request) {
+        log.info("REST request to add stock for item ID: {} at warehouse: {}", id, warehouseCode);
+        
+        LocationStockDto location = warehouseStockService.addStock(id, warehouseCode, request);
+        return ResponseEntity.ok(ApiResponse.success("Stock added successfully", location));
+    }
+    
+    @PostMapping("/{warehouseCode}/stock/reduce")
+    public ResponseEntity<ApiResponse<LocationStockDto>> reduceStock(
+            @PathVariable String id,
+            @PathVariable String warehouseCode,
+            @Valid @RequestBody StockUpdateRequest request) {
+        log.info("REST request to reduce stock for item ID: {} at warehouse: {}", id, warehouseCode);
+        
+        LocationStockDto location = warehouseStockService.reduceStock(id, warehouseCode, request);
+        return ResponseEntity.ok(ApiResponse.success("Stock reduced successfully", location));
+    }
+    
+    @PostMapping("/stock/reduce")
+    public ResponseEntity<ApiResponse<LocationStockDto>> reduceStockFromAnyLocation(
+            @PathVariable String id,
+            @Valid @RequestBody StockUpdateRequest request) {
+        log.info("REST request to reduce stock for item ID: {} from any warehouse", id);
+        
+        LocationStockDto location = warehouseStockService.reduceStockFromAnyLocation(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Stock reduced successfully", location));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.inventoryservice.datasource;
+
+/**
+ * Holds the read-your-writes token supplied by the current request: the time
+ * of the client's last committed write, in epoch milliseconds.
+ */
+public final class ConsistencyContext {
+
+    private static final ThreadLocal<Long> MIN_APPLIED_AT = new ThreadLocal<>();
+
+    private ConsistencyContext() {
+    }
+
+    public static void set(long writtenAtMillis) {
+        MIN_APPLIED_AT.set(writtenAtMillis);
+    }
+
+    public static Long get() {
+        return MIN_APPLIED_AT.get();
+    }
+
+    public static void clear() {
+        MIN_APPLIED_AT.remove();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.inventoryservice.datasource;
+
+import com.example.inventoryservice.config.ReplicaRoutingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    private final ReplicaRoutingProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = request.getHeader(properties.getConsistencyTokenHeader());
+        if (token != null) {
+            try {
+                ConsistencyContext.set(Long.parseLong(token.trim()));
+            } catch (NumberFormatException ex) {
+                // Ignore malformed tokens; the request is served with the default lag bound.
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ConsistencyContext.clear();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.inventoryservice.datasource;
+
+import com.example.inventoryservice.config.ReplicaRoutingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Stamps mutation responses with a consistency token. The handler has returned,
+ * so its transaction is committed; the token is the primary's clock read after
+ * that, and any replica whose heartbeat has reached it has applied the write.
+ * Registered unconditionally and gated on the routing flag at runtime so AOT
+ * builds can still toggle it.
+ */
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ConsistencyTokenResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ReplicaRoutingProperties properties;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        if (monitor == null || HttpMethod.GET.equals(request.getMethod())) {
+            return body;
+        }
+        try {
+            response.getHeaders().set(properties.getConsistencyTokenHeader(),
+                    String.valueOf(monitor.primaryTimeMillis()));
+        } catch (RuntimeException ex) {
+            // Without a token the client's next read is only held to the default lag bound.
+            log.warn("Could not read the primary clock for a consistency token: {}", ex.getMessage());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.inventoryservice.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures replica lag with a heartbeat row per application instance: the
+ * primary's copy is stamped with the primary's own clock on every tick, and the
+ * value read back from each replica is the point in primary time up to which
+ * that replica has applied changes. Consistency tokens are read from the same
+ * clock, so application clocks never have to agree with each other.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final JdbcTemplate primary;
+    private final List<JdbcTemplate> replicas = new ArrayList<>();
+    private final String instanceId;
+    private final String primaryClockQuery;
+    private final AtomicLongArray lagMillis;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, DataSource primary,
+                             List<DataSource> replicas, String instanceId, String primaryClockQuery,
+                             MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.primary = new JdbcTemplate(primary);
+        this.instanceId = instanceId;
+        this.primaryClockQuery = primaryClockQuery;
+        this.lagMillis = new AtomicLongArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new JdbcTemplate(replicas.get(i)));
+            int replica = i;
+            lagMillis.set(i, -1);
+            Gauge.builder("inventory.datasource.replica.lag", () -> lagMillis.get(replica))
+                    .tag("replica", "replica-" + i)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void createHeartbeatTable() {
+        primary.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat "
+                + "(instance_id VARCHAR(64) PRIMARY KEY, beat_at BIGINT NOT NULL)");
+    }
+
+    /**
+     * The primary's current time in epoch milliseconds.
+     */
+    public long primaryTimeMillis() {
+        Long now = primary.queryForObject(primaryClockQuery, Long.class);
+        if (now == null) {
+            throw new IllegalStateException("Primary clock query returned no value: " + primaryClockQuery);
+        }
+        return now;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.datasource.routing.heartbeat-interval-ms:500}")
+    public void heartbeat() {
+        long now;
+        try {
+            now = primaryTimeMillis();
+            if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE instance_id = ?", now, instanceId) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (instance_id, beat_at) VALUES (?, ?)", instanceId, now);
+            }
+        } catch (DataAccessException | IllegalStateException ex) {
+            log.warn("Failed to write replica heartbeat to primary: {}", ex.getMessage());
+            return;
+        }
+
+        for (int i = 0; i < replicas.size(); i++) {
+            try {
+                List<Long> beats = replicas.get(i).queryForList(
+                        "SELECT beat_at FROM replica_heartbeat WHERE instance_id = ?", Long.class, instanceId);
+                if (beats.isEmpty()) {
+                    routingDataSource.markUnavailable(i);
+                    lagMillis.set(i, -1);
+                } else {
+                    routingDataSource.recordAppliedUpTo(i, beats.get(0), now);
+                    lagMillis.set(i, Math.max(0, now - beats.get(0)));
+                }
+            } catch (DataAccessException ex) {
+                log.warn("Replica {} unavailable: {}", i, ex.getMessage());
+                routingDataSource.markUnavailable(i);
+                lagMillis.set(i, -1);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.inventoryservice.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * A replica is eligible when its lag is within the allowed bound and, if the
+ * request carries a consistency token, it has applied changes up to the token.
+ * Heartbeats and tokens are both in primary time; the lag is measured in primary
+ * time too and then aged by the local time elapsed since, so no comparison mixes
+ * two machines' clocks. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so
+ * the target is chosen after the transaction's read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+    private static final long UNKNOWN = -1;
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final String[] replicaKeys;
+    private final AtomicLongArray appliedUpTo;
+    private final AtomicLongArray lagMillis;
+    private final AtomicLongArray measuredAtNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final long maxLagMillis;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMillis = maxLagMillis;
+        this.replicaKeys = new String[replicas.size()];
+        this.appliedUpTo = new AtomicLongArray(replicas.size());
+        this.lagMillis = new AtomicLongArray(replicas.size());
+        this.measuredAtNanos = new AtomicLongArray(replicas.size());
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            replicaKeys[i] = "replica-" + i;
+            appliedUpTo.set(i, UNKNOWN);
+            targets.put(replicaKeys[i], replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Records the primary time up to which the replica has applied changes, as
+     * observed when the primary's clock read {@code primaryNowMillis}.
+     */
+    public void recordAppliedUpTo(int replica, long appliedUpToMillis, long primaryNowMillis) {
+        appliedUpTo.set(replica, UNKNOWN);
+        lagMillis.set(replica, Math.max(0, primaryNowMillis - appliedUpToMillis));
+        measuredAtNanos.set(replica, System.nanoTime());
+        appliedUpTo.set(replica, appliedUpToMillis);
+    }
+
+    public void markUnavailable(int replica) {
+        appliedUpTo.set(replica, UNKNOWN);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicaKeys.length == 0) {
+            return PRIMARY;
+        }
+        Long token = ConsistencyContext.get();
+        long now = System.nanoTime();
+
+        int start = Math.floorMod(next.getAndIncrement(), replicaKeys.length);
+        for (int i = 0; i < replicaKeys.length; i++) {
+            int replica = (start + i) % replicaKeys.length;
+            long applied = appliedUpTo.get(replica);
+            if (applied == UNKNOWN || (token != null && applied < token)) {
+                continue;
+            }
+            // The replica may not have progressed since the measurement, so count the time since as lag.
+            long lag = lagMillis.get(replica) + (now - measuredAtNanos.get(replica)) / 1_000_000;
+            if (lag <= maxLagMillis) {
+                return replicaKeys[replica];
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
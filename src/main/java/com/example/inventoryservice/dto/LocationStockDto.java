@@ -0,0 +1,21 @@
+package com.example.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationStockDto {
+    
+    private String itemId;
+    private String warehouseCode;
+    private Integer quantity;
+    private Integer totalQuantity;
+    private LocalDateTime updatedAt;
+}
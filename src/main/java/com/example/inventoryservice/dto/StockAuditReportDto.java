@@ -0,0 +1,24 @@
+package com.example.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAuditReportDto {
+    
+    private String itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Integer openingQuantity;
+    private Integer closingQuantity;
+    private long totalIn;
+    private long totalOut;
+    private long movementCount;
+}
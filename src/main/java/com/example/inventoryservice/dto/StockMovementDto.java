@@ -0,0 +1,22 @@
+package com.example.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDto {
+    
+    private String itemId;
+    private String warehouseCode;
+    private Integer delta;
+    private String reason;
+    private Integer resultingQuantity;
+    private LocalDateTime occurredAt;
+}
@@ -1,6 +1,8 @@
 package com.example.inventoryservice.dto;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,8 +15,10 @@ import lombok.NoArgsConstructor;
 public class StockUpdateRequest {
     
     @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
     private Integer quantity;
     
+    @Size(max = 255, message = "Reason must be at most 255 characters")
     private String reason;
 }
 
@@ -0,0 +1,16 @@
+package com.example.inventoryservice.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LoggingStockAlertSink implements StockAlertSink {
+
+    @Override
+    public void publish(StockAlert alert) {
+        log.warn("Stock alert {} for item ID: {} ({}). Quantity: {}, minimum stock level: {}",
+                alert.getType(), alert.getItemId(), alert.getItemName(),
+                alert.getQuantity(), alert.getMinimumStockLevel());
+    }
+}
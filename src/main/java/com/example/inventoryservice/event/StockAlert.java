@@ -0,0 +1,18 @@
+package com.example.inventoryservice.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class StockAlert {
+
+    String itemId;
+    String itemName;
+    StockAlertType type;
+    Integer quantity;
+    Integer minimumStockLevel;
+    LocalDateTime timestamp;
+}
@@ -0,0 +1,177 @@
+package com.example.inventoryservice.event;
+
+import com.example.inventoryservice.config.StockAlertProperties;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.JpaLocationStockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns committed stock level changes into deduplicated alerts. An item keeps
+ * its active alert until it is restocked above the minimum stock level plus the
+ * configured hysteresis, so quantities oscillating around the minimum do not
+ * raise a new alert on every mutation.
+ * <p>
+ * After-commit events from concurrent transactions can arrive in any order, so
+ * an event only marks its item for evaluation; the single alert thread then
+ * reads the item's current stock and derives the alert state from that. Pending
+ * evaluations are coalesced per item and the queue is bounded; when it is full
+ * the evaluation is dropped and counted, and the item's next change retries it.
+ */
+@Slf4j
+@Component
+public class StockAlertDispatcher {
+
+    private final List<StockAlertSink> sinks;
+    private final StockAlertProperties properties;
+    private final JpaInventoryRepository inventoryRepository;
+    private final JpaLocationStockRepository locationStockRepository;
+    private final Executor executor;
+    private final Counter droppedEvaluations;
+    private final Map<String, StockAlertType> activeAlerts = new ConcurrentHashMap<>();
+    private final Set<String> pendingItems = ConcurrentHashMap.newKeySet();
+    private final Set<String> droppedItems = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public StockAlertDispatcher(List<StockAlertSink> sinks, StockAlertProperties properties,
+                                JpaInventoryRepository inventoryRepository,
+                                JpaLocationStockRepository locationStockRepository, MeterRegistry meterRegistry) {
+        this(sinks, properties, inventoryRepository, locationStockRepository, meterRegistry, new ThreadPoolExecutor(1, 1,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "stock-alert-dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    StockAlertDispatcher(List<StockAlertSink> sinks, StockAlertProperties properties,
+                         JpaInventoryRepository inventoryRepository,
+                         JpaLocationStockRepository locationStockRepository, MeterRegistry meterRegistry,
+                         Executor executor) {
+        this.sinks = sinks;
+        this.properties = properties;
+        this.inventoryRepository = inventoryRepository;
+        this.locationStockRepository = locationStockRepository;
+        this.executor = executor;
+        this.droppedEvaluations = Counter.builder("inventory.alerts.dropped")
+                .description("Stock alert evaluations dropped because the alert queue was full")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String itemId = event.getItemId();
+        if (!event.isDeleted() && !event.isTransition() && !activeAlerts.containsKey(itemId)
+                && !droppedItems.contains(itemId)) {
+            return;
+        }
+        if (!pendingItems.add(itemId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                pendingItems.remove(itemId);
+                evaluate(itemId);
+            });
+            droppedItems.remove(itemId);
+        } catch (RejectedExecutionException ex) {
+            pendingItems.remove(itemId);
+            droppedItems.add(itemId);
+            droppedEvaluations.increment();
+            log.warn("Stock alert queue full, dropped evaluation for item ID: {}", itemId);
+        }
+    }
+
+    private void evaluate(String itemId) {
+        Optional<InventoryItem> current = inventoryRepository.findById(itemId);
+        if (current.isEmpty()) {
+            activeAlerts.remove(itemId);
+            return;
+        }
+
+        InventoryItem item = current.get();
+        if (item.isLocationManaged()) {
+            // The item row's total trails location changes until the next rollup.
+            item.setQuantity((int) locationStockRepository.sumQuantity(itemId));
+        }
+        StockAlertType active = activeAlerts.get(itemId);
+        StockAlertType next = nextState(active, item);
+        if (next == active) {
+            return;
+        }
+        if (next == null) {
+            activeAlerts.remove(itemId);
+        } else {
+            activeAlerts.put(itemId, next);
+        }
+
+        deliver(StockAlert.builder()
+                .itemId(itemId)
+                .itemName(item.getName())
+                .type(next != null ? next : StockAlertType.RESTOCKED)
+                .quantity(item.getQuantity())
+                .minimumStockLevel(item.getMinimumStockLevel())
+                .timestamp(item.getUpdatedAt() != null ? item.getUpdatedAt() : LocalDateTime.now())
+                .build());
+    }
+
+    private StockAlertType nextState(StockAlertType active, InventoryItem item) {
+        if (item.isOutOfStock()) {
+            return StockAlertType.OUT_OF_STOCK;
+        }
+        if (active == null) {
+            return item.isLowStock() ? StockAlertType.LOW_STOCK : null;
+        }
+        if (item.isLowStock()) {
+            // Leaving OUT_OF_STOCK for LOW_STOCK also needs the hysteresis margin.
+            if (active == StockAlertType.OUT_OF_STOCK && item.getQuantity() < properties.getHysteresis()) {
+                return active;
+            }
+            return StockAlertType.LOW_STOCK;
+        }
+        int minimum = item.getMinimumStockLevel() != null ? item.getMinimumStockLevel() : 0;
+        return item.getQuantity() > minimum + properties.getHysteresis() ? null : active;
+    }
+
+    private void deliver(StockAlert alert) {
+        for (StockAlertSink sink : sinks) {
+            try {
+                sink.publish(alert);
+            } catch (RuntimeException ex) {
+                log.error("Stock alert sink {} failed for item ID: {}",
+                        sink.getClass().getSimpleName(), alert.getItemId(), ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+            executorService.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
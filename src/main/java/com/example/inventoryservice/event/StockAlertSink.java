@@ -0,0 +1,6 @@
+package com.example.inventoryservice.event;
+
+public interface StockAlertSink {
+
+    void publish(StockAlert alert);
+}
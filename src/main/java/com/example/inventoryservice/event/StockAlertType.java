@@ -0,0 +1,7 @@
+package com.example.inventoryservice.event;
+
+public enum StockAlertType {
+    LOW_STOCK,
+    OUT_OF_STOCK,
+    RESTOCKED
+}
@@ -0,0 +1,31 @@
+package com.example.inventoryservice.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class StockLevelChangedEvent {
+
+    String itemId;
+    String itemName;
+    String warehouseCode;
+    int delta;
+    String reason;
+    Integer quantity;
+    // Exact quantity of the changed warehouse row after this change; quantity above is the item total.
+    Integer locationQuantity;
+    Integer minimumStockLevel;
+    boolean wasLowStock;
+    boolean lowStock;
+    boolean wasOutOfStock;
+    boolean outOfStock;
+    boolean deleted;
+    LocalDateTime occurredAt;
+
+    public boolean isTransition() {
+        return wasLowStock != lowStock || wasOutOfStock != outOfStock;
+    }
+}
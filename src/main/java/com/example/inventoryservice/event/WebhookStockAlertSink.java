@@ -0,0 +1,54 @@
+package com.example.inventoryservice.event;
+
+import com.example.inventoryservice.config.StockAlertProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Posts alerts to {@code inventory.alerts.webhook.url}. The bean is always
+ * registered and checks the URL at runtime rather than through a property
+ * condition, because AOT processing would otherwise fix the choice at build time.
+ */
+@Slf4j
+@Component
+public class WebhookStockAlertSink implements StockAlertSink {
+
+    private final RestClient restClient;
+
+    public WebhookStockAlertSink(RestClient.Builder restClientBuilder, StockAlertProperties properties) {
+        StockAlertProperties.Webhook webhook = properties.getWebhook();
+        if (!StringUtils.hasText(webhook.getUrl())) {
+            this.restClient = null;
+            return;
+        }
+        this.restClient = restClientBuilder
+                .baseUrl(webhook.getUrl())
+                .requestFactory(ClientHttpRequestFactories.get(ClientHttpRequestFactorySettings.DEFAULTS
+                        .withConnectTimeout(webhook.getConnectTimeout())
+                        .withReadTimeout(webhook.getReadTimeout())))
+                .build();
+    }
+
+    @Override
+    public void publish(StockAlert alert) {
+        if (restClient == null) {
+            return;
+        }
+        try {
+            restClient.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(alert)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException ex) {
+            log.error("Failed to deliver stock alert {} for item ID: {} to webhook: {}",
+                    alert.getType(), alert.getItemId(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.inventoryservice.ledger;
+
+import com.example.inventoryservice.config.LedgerProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports the ledger write path under {@code /actuator/health}. Down while the
+ * queue is full, so that every change is being written inline, or when
+ * movements were dropped since the previous check.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockLedgerHealthIndicator implements HealthIndicator {
+
+    private final StockMovementRecorder recorder;
+    private final LedgerProperties properties;
+    private final AtomicLong droppedAtLastCheck = new AtomicLong();
+
+    @Override
+    public Health health() {
+        int queued = recorder.queuedMovements();
+        long recorded = recorder.recordedMovements();
+        long dropped = recorder.droppedMovements();
+        boolean newlyDropped = droppedAtLastCheck.getAndSet(dropped) < dropped;
+        boolean saturated = queued >= properties.getQueueCapacity();
+
+        Health.Builder health = newlyDropped || saturated ? Health.down() : Health.up();
+        return health
+                .withDetail("queued", queued)
+                .withDetail("queueCapacity", properties.getQueueCapacity())
+                .withDetail("recorded", recorded)
+                .withDetail("overflowWrites", recorder.overflowWrites())
+                .withDetail("dropped", dropped)
+                .withDetail("dropRate", String.format(Locale.ROOT, "%.6f",
+                        recorded == 0 ? 0.0 : (double) dropped / recorded))
+                .withDetail("deadLettered", recorder.deadLetteredMovements())
+                .build();
+    }
+}
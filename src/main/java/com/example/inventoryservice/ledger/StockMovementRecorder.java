@@ -0,0 +1,241 @@
+package com.example.inventoryservice.ledger;
+
+import com.example.inventoryservice.config.LedgerProperties;
+import com.example.inventoryservice.event.StockLevelChangedEvent;
+import com.example.inventoryservice.model.StockMovement;
+import com.example.inventoryservice.repository.JpaStockMovementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends committed quantity changes to the movement ledger. Request threads
+ * only enqueue; a dedicated writer thread drains the queue and persists
+ * movements in batched inserts, and also runs the {@link StockSnapshotWriter}
+ * between flushes. Enqueueing never waits: when the queue is full the
+ * committing thread writes its movement itself, in a new transaction, so a
+ * backlog slows the overflowing requests down rather than losing movements. A
+ * movement is only dropped if that write fails too.
+ * <p>
+ * A batch that fails because the database is unavailable is kept and retried
+ * on the next flush. Any other failure is retried row by row, and rows that
+ * still fail are dead-lettered (logged and counted) so one bad row cannot
+ * block the rest of the ledger.
+ */
+@Slf4j
+@Component
+public class StockMovementRecorder {
+
+    private final JpaStockMovementRepository jpaStockMovementRepository;
+    private final StockSnapshotWriter snapshotWriter;
+    private final LedgerProperties properties;
+    private final BlockingQueue<StockMovement> queue;
+    private final ScheduledExecutorService writer;
+    private final TransactionTemplate overflowTransaction;
+    private final Counter recordedMovements;
+    private final Counter overflowWrites;
+    private final Counter droppedMovements;
+    private final Counter deadLetteredMovements;
+    private volatile List<StockMovement> pendingBatch = List.of();
+
+    public StockMovementRecorder(JpaStockMovementRepository jpaStockMovementRepository,
+                                 StockSnapshotWriter snapshotWriter,
+                                 LedgerProperties properties,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.jpaStockMovementRepository = jpaStockMovementRepository;
+        this.snapshotWriter = snapshotWriter;
+        this.properties = properties;
+        this.queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-ledger-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The listener runs after the change has committed, so the overflow write needs a transaction of its own.
+        this.overflowTransaction = new TransactionTemplate(transactionManager);
+        this.overflowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.recordedMovements = Counter.builder("inventory.ledger.recorded")
+                .description("Stock movements handed to the ledger")
+                .register(meterRegistry);
+        this.overflowWrites = Counter.builder("inventory.ledger.overflow-writes")
+                .description("Stock movements written by the committing thread because the ledger queue was full")
+                .register(meterRegistry);
+        this.droppedMovements = Counter.builder("inventory.ledger.dropped")
+                .description("Stock movements lost because the queue was full and the direct write failed")
+                .register(meterRegistry);
+        this.deadLetteredMovements = Counter.builder("inventory.ledger.dead-lettered")
+                .description("Stock movements that could not be written to the ledger")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.scheduleWithFixedDelay(this::flushQuietly, properties.getFlushIntervalMs(),
+                properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+        writer.scheduleWithFixedDelay(this::takeSnapshotsQuietly, properties.getSnapshotIntervalMs(),
+                properties.getSnapshotIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        if (event.isDeleted() || event.getDelta() == 0 || event.getLocationQuantity() == null) {
+            return;
+        }
+        StockMovement movement = StockMovement.builder()
+                .itemId(event.getItemId())
+                .warehouseCode(event.getWarehouseCode())
+                .delta(event.getDelta())
+                .reason(event.getReason())
+                .resultingQuantity(event.getLocationQuantity())
+                .occurredAt(event.getOccurredAt())
+                .build();
+        recordedMovements.increment();
+        if (!queue.offer(movement)) {
+            writeOverflow(movement);
+        }
+    }
+
+    private void writeOverflow(StockMovement movement) {
+        overflowWrites.increment();
+        try {
+            overflowTransaction.executeWithoutResult(status -> jpaStockMovementRepository.save(movement));
+            snapshotWriter.movementsWritten(List.of(movement));
+        } catch (RuntimeException ex) {
+            droppedMovements.increment();
+            log.error("Stock ledger queue full and direct write failed, dropped movement {} for item ID: {}: {}",
+                    movement.getDelta(), movement.getItemId(), ex.getMessage());
+        }
+    }
+
+    int queuedMovements() {
+        return queue.size() + pendingBatch.size();
+    }
+
+    long recordedMovements() {
+        return (long) recordedMovements.count();
+    }
+
+    long overflowWrites() {
+        return (long) overflowWrites.count();
+    }
+
+    long droppedMovements() {
+        return (long) droppedMovements.count();
+    }
+
+    long deadLetteredMovements() {
+        return (long) deadLetteredMovements.count();
+    }
+
+    public synchronized void flush() {
+        if (!pendingBatch.isEmpty() && !write(pendingBatch)) {
+            return;
+        }
+        pendingBatch = List.of();
+
+        List<StockMovement> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            if (!write(batch)) {
+                pendingBatch = batch;
+                return;
+            }
+            batch = new ArrayList<>(properties.getBatchSize());
+        }
+    }
+
+    /**
+     * Writes the batch, returning false only if it should be retried as a whole
+     * because the database is unavailable.
+     */
+    private boolean write(List<StockMovement> batch) {
+        try {
+            jpaStockMovementRepository.saveAll(batch);
+            snapshotWriter.movementsWritten(batch);
+            return true;
+        } catch (RuntimeException ex) {
+            if (isTransient(ex)) {
+                log.warn("Could not write {} stock movements, will retry: {}", batch.size(), ex.getMessage());
+                batch.forEach(movement -> movement.setId(null));
+                return false;
+            }
+            log.warn("Failed to write a batch of {} stock movements, retrying one by one: {}",
+                    batch.size(), ex.getMessage());
+        }
+
+        List<StockMovement> written = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            StockMovement movement = batch.get(i);
+            movement.setId(null);
+            try {
+                jpaStockMovementRepository.save(movement);
+                written.add(movement);
+            } catch (RuntimeException ex) {
+                if (isTransient(ex)) {
+                    snapshotWriter.movementsWritten(written);
+                    List<StockMovement> remaining = new ArrayList<>(batch.subList(i, batch.size()));
+                    remaining.forEach(pending -> pending.setId(null));
+                    batch.clear();
+                    batch.addAll(remaining);
+                    return false;
+                }
+                deadLetteredMovements.increment();
+                log.error("Dead-lettered stock movement {}: {}", movement, ex.getMessage());
+            }
+        }
+        snapshotWriter.movementsWritten(written);
+        return true;
+    }
+
+    private static boolean isTransient(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Stock ledger flush failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void takeSnapshotsQuietly() {
+        try {
+            snapshotWriter.takeSnapshots();
+        } catch (RuntimeException ex) {
+            log.error("Stock snapshot run failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+        if (!pendingBatch.isEmpty() || !queue.isEmpty()) {
+            log.error("Shutting down with {} unwritten stock movements", pendingBatch.size() + queue.size());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.inventoryservice.ledger;
+
+import com.example.inventoryservice.config.LedgerProperties;
+import com.example.inventoryservice.model.StockMovement;
+import com.example.inventoryservice.model.StockSnapshot;
+import com.example.inventoryservice.repository.JpaStockMovementRepository;
+import com.example.inventoryservice.repository.JpaStockMovementRepository.MovementTotals;
+import com.example.inventoryservice.repository.JpaStockSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Writes a per-item snapshot of the quantity and the cumulative
+ * inbound/outbound totals, for every item with movements since the previous
+ * run. The quantity is the previous snapshot's plus the deltas since, since
+ * deltas are exact while the item total seen by any one write is not. Ledger
+ * queries then only read movements after the closest snapshot instead of the
+ * item's whole history.
+ * <p>
+ * Runs on the ledger writer thread (see {@link StockMovementRecorder}), so it
+ * never overlaps a flush. A movement is stamped when its transaction commits
+ * but written later, so it can arrive after a snapshot that should have
+ * counted it; the recorder reports such late movements, and the affected
+ * item's snapshots from the movement's time on are deleted and rebuilt.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockSnapshotWriter {
+
+    public static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JpaStockMovementRepository jpaStockMovementRepository;
+    private final JpaStockSnapshotRepository jpaStockSnapshotRepository;
+    private final LedgerProperties properties;
+    private final Map<String, LocalDateTime> lateItems = new HashMap<>();
+    private LocalDateTime lastWatermark;
+
+    public void takeSnapshots() {
+        takeSnapshots(LocalDateTime.now().minusNanos(properties.getSnapshotSettleMs() * 1_000_000));
+    }
+
+    public synchronized void takeSnapshots(LocalDateTime watermark) {
+        if (!watermark.isAfter(lastWatermark())) {
+            return;
+        }
+
+        Set<String> itemIds = new LinkedHashSet<>();
+        for (Map.Entry<String, LocalDateTime> late : lateItems.entrySet()) {
+            int stale = jpaStockSnapshotRepository.deleteByItemIdAndTakenAtGreaterThanEqual(
+                    late.getKey(), late.getValue());
+            log.info("Rebuilding {} stock snapshots for item ID: {} after a late movement at {}",
+                    stale, late.getKey(), late.getValue());
+            itemIds.add(late.getKey());
+        }
+        lateItems.clear();
+        itemIds.addAll(jpaStockMovementRepository.findItemIdsWithMovementsBetween(lastWatermark, watermark));
+
+        for (String itemId : itemIds) {
+            try {
+                takeSnapshot(itemId, watermark);
+            } catch (RuntimeException ex) {
+                log.error("Failed to snapshot stock for item ID: {}: {}", itemId, ex.getMessage());
+            }
+        }
+        lastWatermark = watermark;
+        log.debug("Wrote stock snapshots for {} items up to {}", itemIds.size(), watermark);
+    }
+
+    /**
+     * Called by the recorder after movements are written; notes the items whose
+     * movements fall at or before an already snapshotted time.
+     */
+    synchronized void movementsWritten(List<StockMovement> movements) {
+        LocalDateTime snapshotted = lastWatermark();
+        for (StockMovement movement : movements) {
+            if (!movement.getOccurredAt().isAfter(snapshotted)) {
+                lateItems.merge(movement.getItemId(), movement.getOccurredAt(),
+                        (a, b) -> a.isBefore(b) ? a : b);
+            }
+        }
+    }
+
+    private LocalDateTime lastWatermark() {
+        if (lastWatermark == null) {
+            lastWatermark = jpaStockSnapshotRepository.findFirstByOrderByTakenAtDesc()
+                    .map(StockSnapshot::getTakenAt)
+                    .orElse(LEDGER_START);
+        }
+        return lastWatermark;
+    }
+
+    private void takeSnapshot(String itemId, LocalDateTime watermark) {
+        Optional<StockSnapshot> previous = jpaStockSnapshotRepository
+                .findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(itemId, watermark);
+        LocalDateTime from = previous.map(StockSnapshot::getTakenAt).orElse(LEDGER_START);
+        MovementTotals totals = jpaStockMovementRepository.sumMovementsBetween(itemId, from, watermark);
+        if (previous.isEmpty() && totals.getMovementCount() == 0) {
+            return;
+        }
+
+        jpaStockSnapshotRepository.save(StockSnapshot.builder()
+                .itemId(itemId)
+                .quantity(previous.map(StockSnapshot::getQuantity).orElse(0)
+                        + (int) (totals.getTotalIn() - totals.getTotalOut()))
+                .totalIn(previous.map(StockSnapshot::getTotalIn).orElse(0L) + totals.getTotalIn())
+                .totalOut(previous.map(StockSnapshot::getTotalOut).orElse(0L) + totals.getTotalOut())
+                .movementCount(previous.map(StockSnapshot::getMovementCount).orElse(0L) + totals.getMovementCount())
+                .takenAt(watermark)
+                .build());
+    }
+}
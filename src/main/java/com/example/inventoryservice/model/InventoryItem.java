@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -16,6 +17,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
 @Table(name = "inventory_items")
 public class InventoryItem {
 
@@ -33,6 +35,14 @@ public class InventoryItem {
     @Column(nullable = false)
     private String category;
 
+    /**
+     * Total across locations once {@link #locationManaged} is set; it is then
+     * only written by the rollup and trails location changes slightly. Items
+     * waiting for a rollup are tracked in memory by the instance that changed
+     * them, so if that instance crashes this value (and so {@code GET /{id}} and
+     * {@code /availability}) stays stale until some instance restarts and
+     * reconciles it.
+     */
     @Column(nullable = false)
     private Integer quantity;
 
@@ -42,6 +52,10 @@ public class InventoryItem {
     @Column(name = "minimum_stock_level")
     private Integer minimumStockLevel;
 
+    @Builder.Default
+    @Column(name = "location_managed", nullable = false)
+    private boolean locationManaged = false;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,45 @@
+package com.example.inventoryservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_item_occurred", columnList = "item_id, occurred_at"),
+        @Index(name = "idx_stock_movements_occurred", columnList = "occurred_at")
+})
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "item_id", nullable = false, length = 36, updatable = false)
+    private String itemId;
+
+    @Column(name = "warehouse_code", length = 64, updatable = false)
+    private String warehouseCode;
+
+    @Column(nullable = false, updatable = false)
+    private Integer delta;
+
+    @Column(length = 255, updatable = false)
+    private String reason;
+
+    // Quantity left at this movement's warehouse, read from the row the change itself wrote.
+    @Column(name = "resulting_quantity", nullable = false, updatable = false)
+    private Integer resultingQuantity;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+}
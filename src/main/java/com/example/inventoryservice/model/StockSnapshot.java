@@ -0,0 +1,43 @@
+package com.example.inventoryservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stock_snapshots", indexes = {
+        @Index(name = "idx_stock_snapshots_item_taken", columnList = "item_id, taken_at")
+})
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "item_id", nullable = false, length = 36, updatable = false)
+    private String itemId;
+
+    @Column(nullable = false, updatable = false)
+    private Integer quantity;
+
+    @Column(name = "total_in", nullable = false, updatable = false)
+    private Long totalIn;
+
+    @Column(name = "total_out", nullable = false, updatable = false)
+    private Long totalOut;
+
+    @Column(name = "movement_count", nullable = false, updatable = false)
+    private Long movementCount;
+
+    @Column(name = "taken_at", nullable = false, updatable = false)
+    private LocalDateTime takenAt;
+}
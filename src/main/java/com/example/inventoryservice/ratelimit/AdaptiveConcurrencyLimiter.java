@@ -0,0 +1,135 @@
+package com.example.inventoryservice.ratelimit;
+
+import com.example.inventoryservice.config.ConcurrencyLimitProperties.Budget;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Gradient-based concurrency limit. Completed requests are aggregated per
+ * sampling window without locking; when a window closes, one thread compares
+ * the window's average latency (short term) with an exponentially weighted
+ * average over many windows (long term):
+ * <pre>
+ *   gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1)
+ *   newLimit = limit * gradient + sqrt(limit)
+ * </pre>
+ * and moves the limit towards {@code newLimit} by {@code smoothing}. While
+ * latency stays within {@code tolerance} of the long-term average the limit
+ * grows by the square-root queue allowance; as it rises the gradient pulls the
+ * limit down. A window with failures cuts the limit by {@code backoffRatio}
+ * once, however many requests failed in it. The limit does not grow while less
+ * than half of it is in use.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final Budget budget;
+    private final LongSupplier nanoTime;
+    private final long minWindowNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder windowLatencyNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAdder windowFailures = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicLong windowEnd;
+    private volatile double limit;
+    private volatile double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(Budget budget) {
+        this(budget, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(Budget budget, LongSupplier nanoTime) {
+        this.budget = budget;
+        this.nanoTime = nanoTime;
+        this.minWindowNanos = TimeUnit.MILLISECONDS.toNanos(budget.getWindowMs());
+        this.limit = budget.getInitialLimit();
+        this.windowEnd = new AtomicLong(nanoTime.getAsLong() + minWindowNanos);
+    }
+
+    public boolean tryAcquire(double headroom) {
+        int allowed = (int) (limit * (1 + headroom));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int concurrency = inFlight.getAndDecrement();
+        if (failed) {
+            windowFailures.increment();
+        } else {
+            windowLatencyNanos.add(latencyNanos);
+            windowSamples.increment();
+        }
+        if (windowMaxInFlight.get() < concurrency) {
+            windowMaxInFlight.accumulateAndGet(concurrency, Math::max);
+        }
+
+        long now = nanoTime.getAsLong();
+        long end = windowEnd.get();
+        if (now - end >= 0 && windowEnd.compareAndSet(end, now + windowLength())) {
+            closeWindow();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Only the thread that won the window CAS gets here, so updates need no lock.
+    private void closeWindow() {
+        long failures = windowFailures.sumThenReset();
+        long samples = windowSamples.sumThenReset();
+        long latency = windowLatencyNanos.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(0);
+
+        double current = limit;
+        if (failures > 0) {
+            limit = Math.max(budget.getMinLimit(), current * budget.getBackoffRatio());
+            return;
+        }
+        if (samples == 0) {
+            return;
+        }
+
+        double shortRtt = (double) latency / samples;
+        double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos;
+        longRtt += (shortRtt - longRtt) / budget.getLongWindow();
+        if (longRtt > 2 * shortRtt) {
+            // Latency fell well below the long-term average; let the average catch up faster.
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+
+        // Only grow while the current limit is actually being used.
+        if (maxInFlight * 2 < current) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, budget.getTolerance() * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - budget.getSmoothing()) + target * budget.getSmoothing();
+        limit = Math.max(budget.getMinLimit(), Math.min(budget.getMaxLimit(), next));
+    }
+
+    // A window spans at least one average round trip, so each adjustment sees its effect.
+    private long windowLength() {
+        return Math.max(minWindowNanos, (long) longRttNanos);
+    }
+}
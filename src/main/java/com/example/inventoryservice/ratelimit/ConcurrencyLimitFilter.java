@@ -0,0 +1,140 @@
+package com.example.inventoryservice.ratelimit;
+
+import com.example.inventoryservice.config.ConcurrencyLimitProperties;
+import com.example.inventoryservice.config.ConcurrencyLimitProperties.EndpointClass;
+import com.example.inventoryservice.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sheds inventory API requests with 503 and {@code Retry-After} once the
+ * adaptive concurrency budget for their endpoint class is exhausted. Mutations,
+ * point reads and bulk listings have separate budgets, so slow listings cannot
+ * starve stock updates. Requests carrying the priority header may use extra
+ * headroom above the regular limit.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/v1/inventory";
+    private static final Set<String> BULK_SUFFIXES = Set.of("", "/low-stock", "/out-of-stock");
+    private static final Set<String> BULK_LAST_SEGMENTS = Set.of("locations", "movements", "report");
+
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> priorityRejected = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    properties.getBudgets().get(endpointClass));
+            limiters.put(endpointClass, limiter);
+
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("inventory.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("inventory.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejected.put(endpointClass, Counter.builder("inventory.concurrency.rejected")
+                    .tag("class", tag)
+                    .tag("priority", "false")
+                    .register(meterRegistry));
+            priorityRejected.put(endpointClass, Counter.builder("inventory.concurrency.rejected")
+                    .tag("class", tag)
+                    .tag("priority", "true")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !properties.isEnabled()
+                || !uri.startsWith(API_PREFIX)
+                || uri.startsWith(API_PREFIX + "/alerts/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+        boolean priority = properties.getPriorityValue()
+                .equalsIgnoreCase(request.getHeader(properties.getPriorityHeader()));
+
+        if (!limiter.tryAcquire(priority ? properties.getPriorityHeadroom() : 0)) {
+            (priority ? priorityRejected : rejected).get(endpointClass).increment();
+            reject(request, response, endpointClass);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    EndpointClass classify(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return EndpointClass.MUTATION;
+        }
+        String path = request.getRequestURI().substring(API_PREFIX.length());
+        if (BULK_SUFFIXES.contains(path)) {
+            return EndpointClass.BULK_READ;
+        }
+        String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+        return BULK_LAST_SEGMENTS.contains(lastSegment) ? EndpointClass.BULK_READ : EndpointClass.POINT_READ;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, EndpointClass endpointClass)
+            throws IOException {
+        log.debug("Shedding {} request {} {}", endpointClass, request.getMethod(), request.getRequestURI());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message("Server is overloaded, retry later")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.inventoryservice.repository;
 
 import com.example.inventoryservice.model.InventoryItem;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
@@ -8,6 +9,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Repository
+@ConditionalOnProperty(prefix = "inventory.repository", name = "type", havingValue = "simple", matchIfMissing = true)
 public class InMemoryInventoryRepository implements InventoryRepository {
     
     private final Map<String, InventoryItem> storage = new ConcurrentHashMap<>();
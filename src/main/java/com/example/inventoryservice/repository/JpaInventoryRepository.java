@@ -2,9 +2,14 @@ package com.example.inventoryservice.repository;
 
 import com.example.inventoryservice.model.InventoryItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,5 +22,30 @@ public interface JpaInventoryRepository extends JpaRepository<InventoryItem, Str
     
     @Query("SELECT i FROM InventoryItem i WHERE i.quantity <= 0")
     List<InventoryItem> findOutOfStockItems();
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.locationManaged = true WHERE i.id = :id AND i.locationManaged = false")
+    int markLocationManaged(@Param("id") String id);
+
+    // Only rows whose total actually changed are written, so updatedAt keeps meaning "stock changed".
+    @Transactional
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.quantity = "
+            + "(SELECT COALESCE(SUM(l.quantity), 0) FROM LocationStock l WHERE l.itemId = i.id), "
+            + "i.updatedAt = :now WHERE i.id IN :ids AND i.locationManaged = true "
+            + "AND i.quantity <> (SELECT COALESCE(SUM(l.quantity), 0) FROM LocationStock l WHERE l.itemId = i.id)")
+    int rollupLocationQuantities(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Repairs totals left behind by lost rollups. Leaves updatedAt alone, as the
+     * stock changes themselves happened earlier.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE InventoryItem i SET i.quantity = "
+            + "(SELECT COALESCE(SUM(l.quantity), 0) FROM LocationStock l WHERE l.itemId = i.id) "
+            + "WHERE i.locationManaged = true "
+            + "AND i.quantity <> (SELECT COALESCE(SUM(l.quantity), 0) FROM LocationStock l WHERE l.itemId = i.id)")
+    int rollupAllLocationQuantities();
 }
 
@@ -0,0 +1,56 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.LocationStock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JpaLocationStockRepository extends JpaRepository<LocationStock, String> {
+
+    List<LocationStock> findByItemIdOrderByQuantityDesc(String itemId);
+
+    Optional<LocationStock> findByItemIdAndWarehouseCode(String itemId, String warehouseCode);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM LocationStock l WHERE l.itemId = :itemId AND l.warehouseCode = :warehouseCode")
+    Optional<LocationStock> findForUpdate(@Param("itemId") String itemId,
+                                          @Param("warehouseCode") String warehouseCode);
+
+    @Query("SELECT COALESCE(SUM(l.quantity), 0) FROM LocationStock l WHERE l.itemId = :itemId")
+    long sumQuantity(@Param("itemId") String itemId);
+
+    /**
+     * Adds to the (item, warehouse) row, creating it if needed, in one statement
+     * so concurrent first adds for a warehouse cannot race on the insert.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO location_stock (id, item_id, warehouse_code, quantity, created_at, updated_at) "
+            + "VALUES (:id, :itemId, :warehouseCode, :quantity, :now, :now) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity, updated_at = :now", nativeQuery = true)
+    int addQuantity(@Param("id") String id,
+                    @Param("itemId") String itemId,
+                    @Param("warehouseCode") String warehouseCode,
+                    @Param("quantity") int quantity,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LocationStock l SET l.quantity = l.quantity - :quantity, l.updatedAt = :now "
+            + "WHERE l.itemId = :itemId AND l.warehouseCode = :warehouseCode AND l.quantity >= :quantity")
+    int reduceQuantity(@Param("itemId") String itemId,
+                       @Param("warehouseCode") String warehouseCode,
+                       @Param("quantity") int quantity,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM LocationStock l WHERE l.itemId = :itemId")
+    int deleteByItemId(@Param("itemId") String itemId);
+}
@@ -0,0 +1,37 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JpaStockMovementRepository extends JpaRepository<StockMovement, String> {
+    
+    List<StockMovement> findByItemIdAndOccurredAtBetweenOrderByOccurredAtAsc(
+            String itemId, LocalDateTime from, LocalDateTime to);
+    
+    @Query("SELECT DISTINCT m.itemId FROM StockMovement m WHERE m.occurredAt > :from AND m.occurredAt <= :to")
+    List<String> findItemIdsWithMovementsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT COALESCE(SUM(CASE WHEN m.delta > 0 THEN m.delta ELSE 0 END), 0) AS totalIn, "
+            + "COALESCE(SUM(CASE WHEN m.delta < 0 THEN -m.delta ELSE 0 END), 0) AS totalOut, "
+            + "COUNT(m) AS movementCount "
+            + "FROM StockMovement m WHERE m.itemId = :itemId AND m.occurredAt > :from AND m.occurredAt <= :to")
+    MovementTotals sumMovementsBetween(@Param("itemId") String itemId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+    
+    interface MovementTotals {
+        
+        Long getTotalIn();
+        
+        Long getTotalOut();
+        
+        Long getMovementCount();
+    }
+}
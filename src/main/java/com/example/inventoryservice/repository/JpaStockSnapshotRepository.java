@@ -0,0 +1,26 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JpaStockSnapshotRepository extends JpaRepository<StockSnapshot, String> {
+    
+    Optional<StockSnapshot> findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(
+            String itemId, LocalDateTime at);
+    
+    Optional<StockSnapshot> findFirstByOrderByTakenAtDesc();
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StockSnapshot s WHERE s.itemId = :itemId AND s.takenAt >= :from")
+    int deleteByItemIdAndTakenAtGreaterThanEqual(@Param("itemId") String itemId, @Param("from") LocalDateTime from);
+}
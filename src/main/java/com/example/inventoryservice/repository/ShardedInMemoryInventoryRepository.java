@@ -0,0 +1,325 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.InventoryItem;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory repository split into shards by id hash. Each shard guards its own
+ * map and secondary indexes (category, low stock, out of stock) with its own
+ * lock. Query results are cached per shard as arrays and dropped on the
+ * shard's next write, so repeated scans of an unchanged shard cost nothing;
+ * stale shards are rebuilt in parallel on a dedicated fork-join pool. Results
+ * are returned as a read-only view over the per-shard arrays, never copied into
+ * one list. Enabled with {@code inventory.repository.type=sharded}.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "inventory.repository", name = "type", havingValue = "sharded")
+public class ShardedInMemoryInventoryRepository implements InventoryRepository {
+
+    private static final InventoryItem[] NO_ITEMS = new InventoryItem[0];
+
+    private final Shard[] shards;
+    private final ForkJoinPool pool;
+
+    public ShardedInMemoryInventoryRepository(
+            @Value("${inventory.repository.shards:0}") int shardCount) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int count = shardCount > 0 ? shardCount : processors;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        this.pool = new ForkJoinPool(Math.min(count, processors));
+    }
+
+    @Override
+    public InventoryItem save(InventoryItem item) {
+        shardFor(item.getId()).save(item);
+        return item;
+    }
+
+    @Override
+    public Optional<InventoryItem> findById(String id) {
+        return Optional.ofNullable(shardFor(id).get(id));
+    }
+
+    @Override
+    public List<InventoryItem> findAll() {
+        return scan(View.ALL);
+    }
+
+    @Override
+    public List<InventoryItem> findByCategory(String category) {
+        return scan(category.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public List<InventoryItem> findLowStockItems() {
+        return scan(View.LOW_STOCK);
+    }
+
+    @Override
+    public List<InventoryItem> findOutOfStockItems() {
+        return scan(View.OUT_OF_STOCK);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return shardFor(id).get(id) != null;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        shardFor(id).remove(id);
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (Shard shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private Shard shardFor(String id) {
+        int hash = id.hashCode();
+        return shards[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % shards.length];
+    }
+
+    // A view key is a View constant or a lower-cased category name.
+    private List<InventoryItem> scan(Object key) {
+        InventoryItem[][] parts = new InventoryItem[shards.length][];
+        List<ForkJoinTask<?>> rebuilds = null;
+        for (int i = 0; i < shards.length; i++) {
+            parts[i] = shards[i].cachedView(key);
+            if (parts[i] == null) {
+                if (rebuilds == null) {
+                    rebuilds = new ArrayList<>();
+                }
+                int index = i;
+                rebuilds.add(pool.submit(() -> parts[index] = shards[index].view(key)));
+            }
+        }
+        if (rebuilds != null) {
+            for (ForkJoinTask<?> rebuild : rebuilds) {
+                rebuild.join();
+            }
+        }
+        return new MergedList(parts);
+    }
+
+    private enum View {
+        ALL, LOW_STOCK, OUT_OF_STOCK
+    }
+
+    private static final class Shard {
+
+        private final Map<String, InventoryItem> items = new HashMap<>();
+        private final Map<String, String> indexedCategories = new HashMap<>();
+        private final Map<String, Set<String>> categoryIndex = new HashMap<>();
+        private final Set<String> lowStockIds = new HashSet<>();
+        private final Set<String> outOfStockIds = new HashSet<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // Replaced, not cleared, on write so a reader that built a view from older
+        // data can tell it must not cache it.
+        private volatile Map<Object, InventoryItem[]> views = new ConcurrentHashMap<>();
+
+        void save(InventoryItem item) {
+            lock.writeLock().lock();
+            try {
+                String id = item.getId();
+                items.put(id, item);
+                unindexCategory(id);
+                if (item.getCategory() != null) {
+                    String category = item.getCategory().toLowerCase(Locale.ROOT);
+                    indexedCategories.put(id, category);
+                    categoryIndex.computeIfAbsent(category, key -> new HashSet<>()).add(id);
+                }
+                index(lowStockIds, id, item.isLowStock());
+                index(outOfStockIds, id, item.isOutOfStock());
+                invalidateViews();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String id) {
+            lock.writeLock().lock();
+            try {
+                if (items.remove(id) != null) {
+                    unindexCategory(id);
+                    lowStockIds.remove(id);
+                    outOfStockIds.remove(id);
+                    invalidateViews();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        InventoryItem get(String id) {
+            lock.readLock().lock();
+            try {
+                return items.get(id);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return items.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        InventoryItem[] cachedView(Object key) {
+            return views.get(key);
+        }
+
+        InventoryItem[] view(Object key) {
+            Map<Object, InventoryItem[]> current = views;
+            InventoryItem[] cached = current.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            lock.readLock().lock();
+            try {
+                InventoryItem[] result;
+                if (key == View.ALL) {
+                    result = items.values().toArray(NO_ITEMS);
+                } else if (key == View.LOW_STOCK) {
+                    result = resolve(lowStockIds);
+                } else if (key == View.OUT_OF_STOCK) {
+                    result = resolve(outOfStockIds);
+                } else {
+                    Set<String> ids = categoryIndex.get(key);
+                    if (ids == null) {
+                        // Unknown categories are not cached, so lookups cannot grow the cache.
+                        return NO_ITEMS;
+                    }
+                    result = resolve(ids);
+                }
+                if (views == current) {
+                    current.put(key, result);
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private InventoryItem[] resolve(Set<String> ids) {
+            InventoryItem[] result = new InventoryItem[ids.size()];
+            int i = 0;
+            for (String id : ids) {
+                result[i++] = items.get(id);
+            }
+            return result;
+        }
+
+        private void invalidateViews() {
+            if (!views.isEmpty()) {
+                views = new ConcurrentHashMap<>();
+            }
+        }
+
+        private void unindexCategory(String id) {
+            String previous = indexedCategories.remove(id);
+            if (previous != null) {
+                Set<String> ids = categoryIndex.get(previous);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    categoryIndex.remove(previous);
+                }
+            }
+        }
+
+        private static void index(Set<String> ids, String id, boolean member) {
+            if (member) {
+                ids.add(id);
+            } else {
+                ids.remove(id);
+            }
+        }
+    }
+
+    private static final class MergedList extends AbstractList<InventoryItem> implements RandomAccess {
+
+        private final InventoryItem[][] parts;
+        private final int size;
+
+        private MergedList(InventoryItem[][] parts) {
+            this.parts = parts;
+            int total = 0;
+            for (InventoryItem[] part : parts) {
+                total += part.length;
+            }
+            this.size = total;
+        }
+
+        @Override
+        public InventoryItem get(int index) {
+            Objects.checkIndex(index, size);
+            for (InventoryItem[] part : parts) {
+                if (index < part.length) {
+                    return part[index];
+                }
+                index -= part.length;
+            }
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<InventoryItem> iterator() {
+            return new Iterator<>() {
+                private int part;
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    while (part < parts.length && position >= parts[part].length) {
+                        part++;
+                        position = 0;
+                    }
+                    return part < parts.length;
+                }
+
+                @Override
+                public InventoryItem next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return parts[part][position++];
+                }
+            };
+        }
+    }
+}
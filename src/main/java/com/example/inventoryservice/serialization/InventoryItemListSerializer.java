@@ -0,0 +1,216 @@
+package com.example.inventoryservice.serialization;
+
+import com.example.inventoryservice.dto.InventoryItemDto;
+import com.example.inventoryservice.model.InventoryItem;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Serializes an {@link InventoryItemListView}. When the view is marked for
+ * streaming, each item is written straight from the entity with pre-encoded
+ * field names, so no {@link InventoryItemDto} is built and ISO timestamps are
+ * formatted into a reusable buffer. Otherwise, or when the mapper is configured
+ * in a way the streaming writer does not reproduce (inclusion other than
+ * ALWAYS/NON_NULL, sorted properties, a naming strategy or an active view),
+ * items are mapped and handed to the regular bean serializer. Both paths
+ * produce the same bytes.
+ */
+public class InventoryItemListSerializer extends StdSerializer<InventoryItemListView> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString CATEGORY = new SerializedString("category");
+    private static final SerializedString QUANTITY = new SerializedString("quantity");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString MINIMUM_STOCK_LEVEL = new SerializedString("minimumStockLevel");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString LOW_STOCK = new SerializedString("lowStock");
+    private static final SerializedString OUT_OF_STOCK = new SerializedString("outOfStock");
+
+    public InventoryItemListSerializer() {
+        super(InventoryItemListView.class);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, InventoryItemListView value) {
+        return value.isEmpty();
+    }
+
+    @Override
+    public void serialize(InventoryItemListView value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartArray(value, value.size());
+        JsonInclude.Include inclusion = itemInclusion(provider);
+        if (value.isStreaming() && canStream(inclusion, provider)) {
+            ItemWriter writer = new ItemWriter(gen, provider, inclusion != JsonInclude.Include.NON_NULL
+                    && inclusion != JsonInclude.Include.NON_ABSENT);
+            for (InventoryItem item : value.getItems()) {
+                writer.write(item);
+            }
+        } else {
+            JsonSerializer<Object> itemSerializer = provider.findValueSerializer(InventoryItemDto.class);
+            for (InventoryItem item : value.getItems()) {
+                itemSerializer.serialize(value.map(item), gen, provider);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    private static JsonInclude.Include itemInclusion(SerializerProvider provider) {
+        JsonInclude.Include inclusion = provider.getConfig()
+                .getDefaultPropertyInclusion(InventoryItemDto.class)
+                .getValueInclusion();
+        return inclusion == JsonInclude.Include.USE_DEFAULTS ? JsonInclude.Include.ALWAYS : inclusion;
+    }
+
+    private static boolean canStream(JsonInclude.Include inclusion, SerializerProvider provider) {
+        SerializationConfig config = provider.getConfig();
+        return (inclusion == JsonInclude.Include.ALWAYS
+                || inclusion == JsonInclude.Include.NON_NULL
+                || inclusion == JsonInclude.Include.NON_ABSENT)
+                && !config.isEnabled(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                && config.getPropertyNamingStrategy() == null
+                && provider.getActiveView() == null;
+    }
+
+    private static final class ItemWriter {
+
+        private final JsonGenerator gen;
+        private final SerializerProvider provider;
+        private final boolean writeNulls;
+        private final JsonSerializer<Object> dateTimeSerializer;
+        private final char[] dateTimeBuffer;
+
+        private ItemWriter(JsonGenerator gen, SerializerProvider provider, boolean writeNulls) throws IOException {
+            this.gen = gen;
+            this.provider = provider;
+            this.writeNulls = writeNulls;
+            this.dateTimeSerializer = provider.findValueSerializer(LocalDateTime.class);
+            // The JSR-310 module's stock serializer writes ISO_LOCAL_DATE_TIME strings; any
+            // other configuration (timestamps, @JsonFormat overrides) goes through it instead.
+            this.dateTimeBuffer = (Object) dateTimeSerializer == LocalDateTimeSerializer.INSTANCE
+                    && !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    ? new char[29] : null;
+        }
+
+        private void write(InventoryItem item) throws IOException {
+            gen.writeStartObject(item);
+            writeString(ID, item.getId());
+            writeString(NAME, item.getName());
+            writeString(DESCRIPTION, item.getDescription());
+            writeString(CATEGORY, item.getCategory());
+            writeInteger(QUANTITY, item.getQuantity());
+            writeDecimal(PRICE, item.getPrice());
+            writeInteger(MINIMUM_STOCK_LEVEL, item.getMinimumStockLevel());
+            writeDateTime(CREATED_AT, item.getCreatedAt());
+            writeDateTime(UPDATED_AT, item.getUpdatedAt());
+            gen.writeFieldName(LOW_STOCK);
+            gen.writeBoolean(item.isLowStock());
+            gen.writeFieldName(OUT_OF_STOCK);
+            gen.writeBoolean(item.isOutOfStock());
+            gen.writeEndObject();
+        }
+
+        private void writeString(SerializedString name, String value) throws IOException {
+            if (value == null) {
+                writeNull(name);
+                return;
+            }
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+
+        private void writeInteger(SerializedString name, Integer value) throws IOException {
+            if (value == null) {
+                writeNull(name);
+                return;
+            }
+            gen.writeFieldName(name);
+            gen.writeNumber(value.intValue());
+        }
+
+        private void writeDecimal(SerializedString name, BigDecimal value) throws IOException {
+            if (value == null) {
+                writeNull(name);
+                return;
+            }
+            gen.writeFieldName(name);
+            gen.writeNumber(value);
+        }
+
+        private void writeDateTime(SerializedString name, LocalDateTime value) throws IOException {
+            if (value == null) {
+                writeNull(name);
+                return;
+            }
+            gen.writeFieldName(name);
+            if (dateTimeBuffer != null && value.getYear() >= 0 && value.getYear() <= 9999) {
+                gen.writeString(dateTimeBuffer, 0, formatIso(value));
+            } else {
+                dateTimeSerializer.serialize(value, gen, provider);
+            }
+        }
+
+        private void writeNull(SerializedString name) throws IOException {
+            if (writeNulls) {
+                gen.writeFieldName(name);
+                gen.writeNull();
+            }
+        }
+
+        // Same output as DateTimeFormatter.ISO_LOCAL_DATE_TIME for four-digit years:
+        // seconds always present, fraction trimmed of trailing zeros.
+        private int formatIso(LocalDateTime value) {
+            char[] buf = dateTimeBuffer;
+            int year = value.getYear();
+            buf[0] = digit(year / 1000);
+            buf[1] = digit(year / 100 % 10);
+            buf[2] = digit(year / 10 % 10);
+            buf[3] = digit(year % 10);
+            buf[4] = '-';
+            twoDigits(buf, 5, value.getMonthValue());
+            buf[7] = '-';
+            twoDigits(buf, 8, value.getDayOfMonth());
+            buf[10] = 'T';
+            twoDigits(buf, 11, value.getHour());
+            buf[13] = ':';
+            twoDigits(buf, 14, value.getMinute());
+            buf[16] = ':';
+            twoDigits(buf, 17, value.getSecond());
+            int nano = value.getNano();
+            if (nano == 0) {
+                return 19;
+            }
+            buf[19] = '.';
+            int length = 20;
+            for (int divisor = 100_000_000; divisor > 0 && nano > 0; divisor /= 10) {
+                buf[length++] = digit(nano / divisor);
+                nano %= divisor;
+            }
+            return length;
+        }
+
+        private static void twoDigits(char[] buf, int offset, int value) {
+            buf[offset] = digit(value / 10);
+            buf[offset + 1] = digit(value % 10);
+        }
+
+        private static char digit(int value) {
+            return (char) ('0' + value);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.inventoryservice.serialization;
+
+import com.example.inventoryservice.dto.InventoryItemDto;
+import com.example.inventoryservice.model.InventoryItem;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * A read-only {@code List<InventoryItemDto>} backed by the loaded entities.
+ * DTOs are mapped on access, so callers that only serialize the list never
+ * materialize them: with {@link #streamFromEntities()} set, the serializer
+ * writes the entity fields directly.
+ */
+@JsonSerialize(using = InventoryItemListSerializer.class)
+public class InventoryItemListView extends AbstractList<InventoryItemDto> implements RandomAccess {
+
+    private final List<InventoryItem> items;
+    private final Function<InventoryItem, InventoryItemDto> mapper;
+    private boolean streaming;
+
+    public InventoryItemListView(List<InventoryItem> items, Function<InventoryItem, InventoryItemDto> mapper) {
+        this.items = items;
+        this.mapper = mapper;
+    }
+
+    public void streamFromEntities() {
+        this.streaming = true;
+    }
+
+    boolean isStreaming() {
+        return streaming;
+    }
+
+    List<InventoryItem> getItems() {
+        return items;
+    }
+
+    InventoryItemDto map(InventoryItem item) {
+        return mapper.apply(item);
+    }
+
+    @Override
+    public InventoryItemDto get(int index) {
+        return mapper.apply(items.get(index));
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.inventoryservice.serialization;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler whose {@code ApiResponse} carries an {@link InventoryItemListView}
+ * for the streaming serialization path, which writes items from the entity fields.
+ * The output is byte-identical to the default Jackson bean serialization.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StreamingJson {
+}
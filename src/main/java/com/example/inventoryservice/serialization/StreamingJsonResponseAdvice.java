@@ -0,0 +1,41 @@
+package com.example.inventoryservice.serialization;
+
+import com.example.inventoryservice.dto.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@RestControllerAdvice
+public class StreamingJsonResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean enabled;
+
+    public StreamingJsonResponseAdvice(
+            @Value("${inventory.serialization.streaming.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled
+                && returnType.hasMethodAnnotation(StreamingJson.class)
+                && AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ApiResponse<?> apiResponse
+                && apiResponse.getData() instanceof InventoryItemListView items) {
+            items.streamFromEntities();
+        }
+        return body;
+    }
+}
@@ -1,21 +1,35 @@
 package com.example.inventoryservice.service;
 
+import com.example.inventoryservice.config.LocationStockProperties;
 import com.example.inventoryservice.dto.CreateInventoryItemRequest;
 import com.example.inventoryservice.dto.InventoryItemDto;
+import com.example.inventoryservice.dto.LocationStockDto;
 import com.example.inventoryservice.dto.StockUpdateRequest;
 import com.example.inventoryservice.dto.UpdateInventoryItemRequest;
-import com.example.inventoryservice.exception.InsufficientStockException;
+import com.example.inventoryservice.event.StockLevelChangedEvent;
 import com.example.inventoryservice.exception.ResourceNotFoundException;
 import com.example.inventoryservice.model.InventoryItem;
 import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.JpaLocationStockRepository;
+import com.example.inventoryservice.serialization.InventoryItemListView;
+import com.example.inventoryservice.warmup.AccessFrequencyTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
-
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Item catalogue operations. Stock itself lives in per-warehouse location rows:
+ * item-level additions go to the configured default warehouse, reductions draw
+ * from as many warehouses as needed, largest first, and the item's quantity is the
+ * total maintained by {@link LocationStockRollup}.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -23,6 +37,12 @@ import java.util.stream.Collectors;
 public class InventoryServiceImpl implements InventoryService {
 
     private final JpaInventoryRepository jpaInventoryRepository;
+    private final JpaLocationStockRepository jpaLocationStockRepository;
+    private final WarehouseStockService warehouseStockService;
+    private final LocationStockProperties locationStockProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccessFrequencyTracker accessFrequencyTracker;
+    private final Function<InventoryItem, InventoryItemDto> dtoMapper = this::mapToDto;
     
     @Override
     public InventoryItemDto createItem(CreateInventoryItemRequest request) {
@@ -35,10 +55,18 @@ public class InventoryServiceImpl implements InventoryService {
                 .quantity(request.getQuantity())
                 .price(request.getPrice())
                 .minimumStockLevel(request.getMinimumStockLevel() != null ? request.getMinimumStockLevel() : 10)
+                .locationManaged(true)
                 .build();
 
         InventoryItem savedItem = jpaInventoryRepository.save(item);
         log.info("Created inventory item with ID: {}", savedItem.getId());
+        if (savedItem.getQuantity() > 0) {
+            // The item row already carries the total; this records where the stock is.
+            warehouseStockService.addStock(savedItem.getId(), locationStockProperties.getDefaultWarehouse(),
+                    StockUpdateRequest.builder().quantity(savedItem.getQuantity()).reason("Initial stock").build());
+        } else {
+            publishStockLevelChange(savedItem, 0, "Initial stock", false, false);
+        }
 
         return mapToDto(savedItem);
     }
@@ -50,6 +78,7 @@ public class InventoryServiceImpl implements InventoryService {
 
         InventoryItem item = jpaInventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
+        accessFrequencyTracker.record(id);
 
         return mapToDto(item);
     }
@@ -59,9 +88,7 @@ public class InventoryServiceImpl implements InventoryService {
     public List<InventoryItemDto> getAllItems() {
         log.info("Fetching all inventory items");
 
-        return jpaInventoryRepository.findAll().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return new InventoryItemListView(jpaInventoryRepository.findAll(), dtoMapper);
     }
 
     @Override
@@ -69,9 +96,7 @@ public class InventoryServiceImpl implements InventoryService {
     public List<InventoryItemDto> getItemsByCategory(String category) {
         log.info("Fetching inventory items by category: {}", category);
 
-        return jpaInventoryRepository.findByCategory(category).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return new InventoryItemListView(jpaInventoryRepository.findByCategory(category), dtoMapper);
     }
 
     @Override
@@ -79,9 +104,7 @@ public class InventoryServiceImpl implements InventoryService {
     public List<InventoryItemDto> getLowStockItems() {
         log.info("Fetching low stock items");
 
-        return jpaInventoryRepository.findLowStockItems().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return new InventoryItemListView(jpaInventoryRepository.findLowStockItems(), dtoMapper);
     }
 
     @Override
@@ -89,9 +112,7 @@ public class InventoryServiceImpl implements InventoryService {
     public List<InventoryItemDto> getOutOfStockItems() {
         log.info("Fetching out of stock items");
 
-        return jpaInventoryRepository.findOutOfStockItems().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return new InventoryItemListView(jpaInventoryRepository.findOutOfStockItems(), dtoMapper);
     }
     
     @Override
@@ -101,6 +122,10 @@ public class InventoryServiceImpl implements InventoryService {
         InventoryItem item = jpaInventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
 
+        Integer previousMinimumStockLevel = item.getMinimumStockLevel();
+        boolean wasLowStock = item.isLowStock();
+        boolean wasOutOfStock = item.isOutOfStock();
+
         if (request.getName() != null) {
             item.setName(request.getName());
         }
@@ -110,9 +135,6 @@ public class InventoryServiceImpl implements InventoryService {
         if (request.getCategory() != null) {
             item.setCategory(request.getCategory());
         }
-        if (request.getQuantity() != null) {
-            item.setQuantity(request.getQuantity());
-        }
         if (request.getPrice() != null) {
             item.setPrice(request.getPrice());
         }
@@ -123,6 +145,25 @@ public class InventoryServiceImpl implements InventoryService {
         InventoryItem updatedItem = jpaInventoryRepository.save(item);
         log.info("Updated inventory item with ID: {}", id);
 
+        if (request.getQuantity() != null) {
+            // Increases go to the default warehouse; decreases draw from whichever warehouses hold the stock.
+            int delta = request.getQuantity() - warehouseStockService.getTotalQuantity(id);
+            if (delta != 0) {
+                StockUpdateRequest adjustment = StockUpdateRequest.builder()
+                        .quantity(Math.abs(delta))
+                        .reason("Manual adjustment")
+                        .build();
+                int quantity = delta > 0
+                        ? warehouseStockService.addStock(id, locationStockProperties.getDefaultWarehouse(),
+                                adjustment).getTotalQuantity()
+                        : warehouseStockService.reduceStockAcrossLocations(id, adjustment);
+                return mapToDto(updatedItem, quantity);
+            }
+        }
+        if (!Objects.equals(previousMinimumStockLevel, updatedItem.getMinimumStockLevel())) {
+            publishStockLevelChange(updatedItem, 0, "Manual adjustment", wasLowStock, wasOutOfStock);
+        }
+
         return mapToDto(updatedItem);
     }
     
@@ -134,8 +175,15 @@ public class InventoryServiceImpl implements InventoryService {
             throw new ResourceNotFoundException("InventoryItem", "id", id);
         }
 
+        jpaLocationStockRepository.deleteByItemId(id);
         jpaInventoryRepository.deleteById(id);
         log.info("Deleted inventory item with ID: {}", id);
+
+        eventPublisher.publishEvent(StockLevelChangedEvent.builder()
+                .itemId(id)
+                .deleted(true)
+                .occurredAt(LocalDateTime.now())
+                .build());
     }
 
     @Override
@@ -144,14 +192,14 @@ public class InventoryServiceImpl implements InventoryService {
 
         InventoryItem item = jpaInventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
+        accessFrequencyTracker.record(id);
 
-        item.setQuantity(item.getQuantity() + request.getQuantity());
-
-        InventoryItem updatedItem = jpaInventoryRepository.save(item);
+        LocationStockDto location = warehouseStockService.addStock(id,
+                locationStockProperties.getDefaultWarehouse(), request);
         log.info("Added {} units to item ID: {}. New quantity: {}",
-                request.getQuantity(), id, updatedItem.getQuantity());
+                request.getQuantity(), id, location.getTotalQuantity());
 
-        return mapToDto(updatedItem);
+        return mapToDto(item, location.getTotalQuantity());
     }
 
     @Override
@@ -160,18 +208,12 @@ public class InventoryServiceImpl implements InventoryService {
 
         InventoryItem item = jpaInventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
+        accessFrequencyTracker.record(id);
 
-        if (item.getQuantity() < request.getQuantity()) {
-            throw new InsufficientStockException(id, request.getQuantity(), item.getQuantity());
-        }
-
-        item.setQuantity(item.getQuantity() - request.getQuantity());
-
-        InventoryItem updatedItem = jpaInventoryRepository.save(item);
-        log.info("Reduced {} units from item ID: {}. New quantity: {}",
-                request.getQuantity(), id, updatedItem.getQuantity());
+        int quantity = warehouseStockService.reduceStockAcrossLocations(id, request);
+        log.info("Reduced {} units from item ID: {}. New quantity: {}", request.getQuantity(), id, quantity);
 
-        return mapToDto(updatedItem);
+        return mapToDto(item, quantity);
     }
 
     @Override
@@ -181,6 +223,7 @@ public class InventoryServiceImpl implements InventoryService {
 
         InventoryItem item = jpaInventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
+        accessFrequencyTracker.record(id);
 
         return item.getQuantity() >= quantity;
     }
@@ -191,6 +234,31 @@ public class InventoryServiceImpl implements InventoryService {
         return jpaInventoryRepository.count();
     }
     
+    private void publishStockLevelChange(InventoryItem item, int delta, String reason,
+                                         boolean wasLowStock, boolean wasOutOfStock) {
+        eventPublisher.publishEvent(StockLevelChangedEvent.builder()
+                .itemId(item.getId())
+                .itemName(item.getName())
+                .delta(delta)
+                .reason(reason)
+                .quantity(item.getQuantity())
+                .minimumStockLevel(item.getMinimumStockLevel())
+                .wasLowStock(wasLowStock)
+                .lowStock(item.isLowStock())
+                .wasOutOfStock(wasOutOfStock)
+                .outOfStock(item.isOutOfStock())
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    private InventoryItemDto mapToDto(InventoryItem item, int quantity) {
+        InventoryItemDto dto = mapToDto(item);
+        dto.setQuantity(quantity);
+        dto.setLowStock(item.getMinimumStockLevel() != null && quantity <= item.getMinimumStockLevel());
+        dto.setOutOfStock(quantity <= 0);
+        return dto;
+    }
+
     private InventoryItemDto mapToDto(InventoryItem item) {
         return InventoryItemDto.builder()
                 .id(item.getId())
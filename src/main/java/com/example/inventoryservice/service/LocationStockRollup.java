@@ -0,0 +1,82 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.event.StockLevelChangedEvent;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@code inventory_items.quantity} equal to the sum of the item's location
+ * rows. Committed location changes only mark their item; the rollup then
+ * recomputes the marked items' totals in one statement outside the request's
+ * transaction, coalescing any number of changes per item between runs. Marks
+ * are held in memory by the instance that made the change, so after a crash its
+ * unrolled items keep a stale total until some instance starts and reconciles
+ * all totals.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocationStockRollup {
+
+    private static final int MAX_ITEMS_PER_STATEMENT = 500;
+
+    private final JpaInventoryRepository jpaInventoryRepository;
+    private final Set<String> dirtyItems = ConcurrentHashMap.newKeySet();
+
+    @TransactionalEventListener
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        if (event.getWarehouseCode() != null && !event.isDeleted()) {
+            dirtyItems.add(event.getItemId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.locations.rollup-interval-ms:200}")
+    public void rollup() {
+        List<String> itemIds = new ArrayList<>(MAX_ITEMS_PER_STATEMENT);
+        for (String itemId : dirtyItems) {
+            // Removing before the rollup reads the rows means a change committed
+            // meanwhile marks the item again rather than being missed.
+            if (dirtyItems.remove(itemId)) {
+                itemIds.add(itemId);
+            }
+            if (itemIds.size() == MAX_ITEMS_PER_STATEMENT) {
+                rollup(itemIds);
+                itemIds = new ArrayList<>(MAX_ITEMS_PER_STATEMENT);
+            }
+        }
+        if (!itemIds.isEmpty()) {
+            rollup(itemIds);
+        }
+    }
+
+    private void rollup(List<String> itemIds) {
+        try {
+            jpaInventoryRepository.rollupLocationQuantities(itemIds, LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            dirtyItems.addAll(itemIds);
+            log.error("Failed to roll up location stock for {} items, will retry: {}", itemIds.size(), ex.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        try {
+            int items = jpaInventoryRepository.rollupAllLocationQuantities();
+            log.info("Reconciled location stock totals for {} items", items);
+        } catch (RuntimeException ex) {
+            log.error("Failed to reconcile location stock totals: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.StockAuditReportDto;
+import com.example.inventoryservice.dto.StockMovementDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockLedgerService {
+    
+    List<StockMovementDto> getMovements(String itemId, LocalDateTime from, LocalDateTime to);
+    
+    int getStockAt(String itemId, LocalDateTime at);
+    
+    StockAuditReportDto getAuditReport(String itemId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,113 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.StockAuditReportDto;
+import com.example.inventoryservice.dto.StockMovementDto;
+import com.example.inventoryservice.exception.ResourceNotFoundException;
+import com.example.inventoryservice.ledger.StockSnapshotWriter;
+import com.example.inventoryservice.model.StockMovement;
+import com.example.inventoryservice.model.StockSnapshot;
+import com.example.inventoryservice.repository.JpaStockMovementRepository;
+import com.example.inventoryservice.repository.JpaStockMovementRepository.MovementTotals;
+import com.example.inventoryservice.repository.JpaStockSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private final JpaStockMovementRepository jpaStockMovementRepository;
+    private final JpaStockSnapshotRepository jpaStockSnapshotRepository;
+
+    @Override
+    public List<StockMovementDto> getMovements(String itemId, LocalDateTime from, LocalDateTime to) {
+        log.info("Fetching stock movements for item ID: {} between {} and {}", itemId, from, to);
+
+        return jpaStockMovementRepository.findByItemIdAndOccurredAtBetweenOrderByOccurredAtAsc(itemId, from, to)
+                .stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int getStockAt(String itemId, LocalDateTime at) {
+        log.info("Fetching stock for item ID: {} at {}", itemId, at);
+
+        return findQuantityAt(itemId, at)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        String.format("No stock movements recorded for item %s at or before %s", itemId, at)));
+    }
+
+    @Override
+    public StockAuditReportDto getAuditReport(String itemId, LocalDateTime from, LocalDateTime to) {
+        log.info("Building stock audit report for item ID: {} between {} and {}", itemId, from, to);
+
+        long[] opening = cumulativeTotals(itemId, from);
+        long[] closing = cumulativeTotals(itemId, to);
+
+        return StockAuditReportDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .openingQuantity(findQuantityAt(itemId, from).orElse(null))
+                .closingQuantity(findQuantityAt(itemId, to).orElse(null))
+                .totalIn(closing[0] - opening[0])
+                .totalOut(closing[1] - opening[1])
+                .movementCount(closing[2] - opening[2])
+                .build();
+    }
+
+    // Quantity at the given time: the closest earlier snapshot plus the deltas recorded after
+    // it. Empty when the item has no movements up to then.
+    private Optional<Integer> findQuantityAt(String itemId, LocalDateTime at) {
+        Optional<StockSnapshot> snapshot = findSnapshotAt(itemId, at);
+        MovementTotals tail = tailTotals(itemId, snapshot, at);
+        if (snapshot.isEmpty() && tail.getMovementCount() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.map(StockSnapshot::getQuantity).orElse(0)
+                + (int) (tail.getTotalIn() - tail.getTotalOut()));
+    }
+
+    // Totals in, out and movement count from the start of the ledger up to the given
+    // time: the closest earlier snapshot plus the movements recorded after it.
+    private long[] cumulativeTotals(String itemId, LocalDateTime at) {
+        Optional<StockSnapshot> snapshot = findSnapshotAt(itemId, at);
+        MovementTotals tail = tailTotals(itemId, snapshot, at);
+
+        return new long[] {
+                snapshot.map(StockSnapshot::getTotalIn).orElse(0L) + tail.getTotalIn(),
+                snapshot.map(StockSnapshot::getTotalOut).orElse(0L) + tail.getTotalOut(),
+                snapshot.map(StockSnapshot::getMovementCount).orElse(0L) + tail.getMovementCount()
+        };
+    }
+
+    private Optional<StockSnapshot> findSnapshotAt(String itemId, LocalDateTime at) {
+        return jpaStockSnapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(itemId, at);
+    }
+
+    private MovementTotals tailTotals(String itemId, Optional<StockSnapshot> snapshot, LocalDateTime at) {
+        LocalDateTime since = snapshot.map(StockSnapshot::getTakenAt).orElse(StockSnapshotWriter.LEDGER_START);
+        return jpaStockMovementRepository.sumMovementsBetween(itemId, since, at);
+    }
+
+    private StockMovementDto mapToDto(StockMovement movement) {
+        return StockMovementDto.builder()
+                .itemId(movement.getItemId())
+                .warehouseCode(movement.getWarehouseCode())
+                .delta(movement.getDelta())
+                .reason(movement.getReason())
+                .resultingQuantity(movement.getResultingQuantity())
+                .occurredAt(movement.getOccurredAt())
+                .build();
+    }
+}
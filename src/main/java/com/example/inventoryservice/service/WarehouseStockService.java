@@ -0,0 +1,21 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.LocationStockDto;
+import com.example.inventoryservice.dto.StockUpdateRequest;
+
+import java.util.List;
+
+public interface WarehouseStockService {
+    
+    List<LocationStockDto> getLocations(String itemId);
+    
+    LocationStockDto addStock(String itemId, String warehouseCode, StockUpdateRequest request);
+    
+    LocationStockDto reduceStock(String itemId, String warehouseCode, StockUpdateRequest request);
+    
+    LocationStockDto reduceStockFromAnyLocation(String itemId, StockUpdateRequest request);
+    
+    int reduceStockAcrossLocations(String itemId, StockUpdateRequest request);
+    
+    int getTotalQuantity(String itemId);
+}
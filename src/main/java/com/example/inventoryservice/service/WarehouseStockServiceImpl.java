@@ -0,0 +1,275 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.config.LocationStockProperties;
+import com.example.inventoryservice.dto.LocationStockDto;
+import com.example.inventoryservice.dto.StockUpdateRequest;
+import com.example.inventoryservice.event.StockLevelChangedEvent;
+import com.example.inventoryservice.exception.InsufficientStockException;
+import com.example.inventoryservice.exception.ResourceNotFoundException;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.LocationStock;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.JpaLocationStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Location-scoped stock changes. Each change is a single statement on the
+ * (item, warehouse) row: an upsert for adds and a conditional UPDATE for
+ * reductions, so no row is read and locked ahead of the write. The item row is
+ * not touched; {@link LocationStockRollup} recomputes its total after commit,
+ * so writes to different warehouses of the same item do not serialize on it.
+ * <p>
+ * The first location write for an item that predates location tracking moves
+ * its existing stock into the default warehouse, so the location rows always
+ * add up to the item's stock.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class WarehouseStockServiceImpl implements WarehouseStockService {
+
+    private final JpaLocationStockRepository jpaLocationStockRepository;
+    private final JpaInventoryRepository jpaInventoryRepository;
+    private final LocationStockProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LocationStockDto> getLocations(String itemId) {
+        log.info("Fetching stock locations for item ID: {}", itemId);
+
+        findItem(itemId);
+        List<LocationStock> locations = jpaLocationStockRepository.findByItemIdOrderByQuantityDesc(itemId);
+        int totalQuantity = locations.stream().mapToInt(LocationStock::getQuantity).sum();
+
+        return locations.stream()
+                .map(location -> mapToDto(location, totalQuantity))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public LocationStockDto addStock(String itemId, String warehouseCode, StockUpdateRequest request) {
+        log.info("Adding stock for item ID: {} at warehouse: {}, quantity: {}",
+                itemId, warehouseCode, request.getQuantity());
+
+        InventoryItem item = findLocationManagedItem(itemId);
+
+        LocalDateTime now = LocalDateTime.now();
+        addQuantity(itemId, warehouseCode, request.getQuantity(), now);
+        LocationStock location = findLocation(itemId, warehouseCode);
+
+        int totalQuantity = publishChange(item, location, request.getQuantity(), request.getReason(), now);
+        log.info("Added {} units to item ID: {} at warehouse: {}. New total quantity: {}",
+                request.getQuantity(), itemId, warehouseCode, totalQuantity);
+
+        return mapToDto(location, totalQuantity);
+    }
+
+    @Override
+    public LocationStockDto reduceStock(String itemId, String warehouseCode, StockUpdateRequest request) {
+        log.info("Reducing stock for item ID: {} at warehouse: {}, quantity: {}",
+                itemId, warehouseCode, request.getQuantity());
+
+        InventoryItem item = findLocationManagedItem(itemId);
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jpaLocationStockRepository.reduceQuantity(itemId, warehouseCode, request.getQuantity(), now);
+        LocationStock location = findLocation(itemId, warehouseCode);
+        if (updated == 0) {
+            throw new InsufficientStockException(itemId, request.getQuantity(), location.getQuantity());
+        }
+
+        int totalQuantity = publishChange(item, location, -request.getQuantity(), request.getReason(), now);
+        log.info("Reduced {} units from item ID: {} at warehouse: {}. New total quantity: {}",
+                request.getQuantity(), itemId, warehouseCode, totalQuantity);
+
+        return mapToDto(location, totalQuantity);
+    }
+
+    @Override
+    public LocationStockDto reduceStockFromAnyLocation(String itemId, StockUpdateRequest request) {
+        log.info("Reducing stock for item ID: {} from any warehouse, quantity: {}", itemId, request.getQuantity());
+
+        InventoryItem item = findLocationManagedItem(itemId);
+
+        // Candidates are read without locks; each attempt is a conditional update that
+        // only succeeds if that location still holds enough stock.
+        List<LocationStock> candidates = jpaLocationStockRepository.findByItemIdOrderByQuantityDesc(itemId);
+        LocalDateTime now = LocalDateTime.now();
+        for (LocationStock candidate : candidates) {
+            if (candidate.getQuantity() < request.getQuantity()) {
+                break;
+            }
+            String warehouseCode = candidate.getWarehouseCode();
+            if (jpaLocationStockRepository.reduceQuantity(itemId, warehouseCode, request.getQuantity(), now) == 1) {
+                LocationStock location = findLocation(itemId, warehouseCode);
+                int totalQuantity = publishChange(item, location, -request.getQuantity(), request.getReason(), now);
+                log.info("Reduced {} units from item ID: {} at warehouse: {}. New total quantity: {}",
+                        request.getQuantity(), itemId, warehouseCode, totalQuantity);
+
+                return mapToDto(location, totalQuantity);
+            }
+        }
+
+        int available = candidates.isEmpty() ? 0 : candidates.get(0).getQuantity();
+        log.info("No single warehouse can supply {} units of item ID: {}", request.getQuantity(), itemId);
+        throw new InsufficientStockException(itemId, request.getQuantity(), available);
+    }
+
+    /**
+     * Reduces the item's total, drawing from the warehouses holding the most
+     * stock first, and returns the new total. Each draw is the same conditional
+     * UPDATE as a single-location reduction; a location changed since it was
+     * read is locked and re-read once. Fails without changing anything when the
+     * locations together cannot cover the request.
+     */
+    @Override
+    public int reduceStockAcrossLocations(String itemId, StockUpdateRequest request) {
+        log.info("Reducing stock for item ID: {} across warehouses, quantity: {}", itemId, request.getQuantity());
+
+        InventoryItem item = findLocationManagedItem(itemId);
+
+        List<LocationStock> candidates = jpaLocationStockRepository.findByItemIdOrderByQuantityDesc(itemId);
+        LocalDateTime now = LocalDateTime.now();
+        int remaining = request.getQuantity();
+        int totalQuantity = 0;
+        for (LocationStock candidate : candidates) {
+            if (remaining == 0) {
+                break;
+            }
+            String warehouseCode = candidate.getWarehouseCode();
+            int taken = Math.min(remaining, candidate.getQuantity());
+            if (taken > 0 && jpaLocationStockRepository.reduceQuantity(itemId, warehouseCode, taken, now) == 0) {
+                int current = jpaLocationStockRepository.findForUpdate(itemId, warehouseCode)
+                        .map(LocationStock::getQuantity)
+                        .orElse(0);
+                taken = Math.min(remaining, current);
+                if (taken > 0) {
+                    jpaLocationStockRepository.reduceQuantity(itemId, warehouseCode, taken, now);
+                }
+            }
+            if (taken > 0) {
+                remaining -= taken;
+                totalQuantity = publishChange(item, findLocation(itemId, warehouseCode), -taken,
+                        request.getReason(), now);
+            }
+        }
+
+        if (remaining > 0) {
+            log.info("Warehouses hold only {} of {} units requested for item ID: {}",
+                    request.getQuantity() - remaining, request.getQuantity(), itemId);
+            throw new InsufficientStockException(itemId, request.getQuantity(), request.getQuantity() - remaining);
+        }
+        log.info("Reduced {} units from item ID: {}. New total quantity: {}",
+                request.getQuantity(), itemId, totalQuantity);
+        return totalQuantity;
+    }
+
+    @Override
+    public int getTotalQuantity(String itemId) {
+        findLocationManagedItem(itemId);
+        return (int) jpaLocationStockRepository.sumQuantity(itemId);
+    }
+
+    private InventoryItem findLocationManagedItem(String itemId) {
+        InventoryItem item = findItem(itemId);
+        // Only the transaction that flips the flag seeds the default location, so
+        // concurrent first writes cannot both move the legacy stock.
+        if (!item.isLocationManaged() && jpaInventoryRepository.markLocationManaged(itemId) == 1) {
+            log.info("Moving {} units of item ID: {} into warehouse: {}",
+                    item.getQuantity(), itemId, properties.getDefaultWarehouse());
+            if (item.getQuantity() > 0) {
+                LocalDateTime now = LocalDateTime.now();
+                addQuantity(itemId, properties.getDefaultWarehouse(), item.getQuantity(), now);
+                publishOpeningBalance(item, findLocation(itemId, properties.getDefaultWarehouse()), now);
+            }
+        }
+        return item;
+    }
+
+    private void addQuantity(String itemId, String warehouseCode, int quantity, LocalDateTime now) {
+        jpaLocationStockRepository.addQuantity(UUID.randomUUID().toString(), itemId, warehouseCode, quantity, now);
+    }
+
+    /**
+     * Publishes the change with the item total summed from its locations. That
+     * sum is a plain read and can miss concurrent writes to other warehouses, so
+     * it only feeds alerts; the ledger relies on the delta and on the changed
+     * row's own quantity, which this transaction has just written.
+     */
+    private int publishChange(InventoryItem item, LocationStock location, int delta, String reason,
+                              LocalDateTime now) {
+        int quantity = (int) jpaLocationStockRepository.sumQuantity(item.getId());
+
+        int previousQuantity = quantity - delta;
+        Integer minimumStockLevel = item.getMinimumStockLevel();
+        eventPublisher.publishEvent(StockLevelChangedEvent.builder()
+                .itemId(item.getId())
+                .itemName(item.getName())
+                .warehouseCode(location.getWarehouseCode())
+                .delta(delta)
+                .reason(reason)
+                .quantity(quantity)
+                .locationQuantity(location.getQuantity())
+                .minimumStockLevel(minimumStockLevel)
+                .wasLowStock(minimumStockLevel != null && previousQuantity <= minimumStockLevel)
+                .lowStock(minimumStockLevel != null && quantity <= minimumStockLevel)
+                .wasOutOfStock(previousQuantity <= 0)
+                .outOfStock(quantity <= 0)
+                .occurredAt(now)
+                .build());
+
+        return quantity;
+    }
+
+    // Records the stock an item already had when location tracking started, so the
+    // ledger's running totals start from it; the item's stock itself is unchanged.
+    private void publishOpeningBalance(InventoryItem item, LocationStock location, LocalDateTime now) {
+        eventPublisher.publishEvent(StockLevelChangedEvent.builder()
+                .itemId(item.getId())
+                .itemName(item.getName())
+                .warehouseCode(location.getWarehouseCode())
+                .delta(location.getQuantity())
+                .reason("Opening balance")
+                .quantity(item.getQuantity())
+                .locationQuantity(location.getQuantity())
+                .minimumStockLevel(item.getMinimumStockLevel())
+                .wasLowStock(item.isLowStock())
+                .lowStock(item.isLowStock())
+                .wasOutOfStock(item.isOutOfStock())
+                .outOfStock(item.isOutOfStock())
+                .occurredAt(now)
+                .build());
+    }
+
+    private InventoryItem findItem(String itemId) {
+        return jpaInventoryRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", itemId));
+    }
+
+    private LocationStock findLocation(String itemId, String warehouseCode) {
+        return jpaLocationStockRepository.findByItemIdAndWarehouseCode(itemId, warehouseCode)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "LocationStock", "warehouseCode", itemId + "/" + warehouseCode));
+    }
+
+    private LocationStockDto mapToDto(LocationStock location, int totalQuantity) {
+        return LocationStockDto.builder()
+                .itemId(location.getItemId())
+                .warehouseCode(location.getWarehouseCode())
+                .quantity(location.getQuantity())
+                .totalQuantity(totalQuantity)
+                .updatedAt(location.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.inventoryservice.warmup;
+
+import com.example.inventoryservice.config.WarmupProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/**
+ * Approximate per-item access frequencies in fixed memory: a count-min sketch
+ * estimates how often any id was seen, and a bounded top-k set keeps the ids
+ * currently estimated hottest. Once the set is full, an id outside it is compared
+ * against the coldest of a few randomly sampled members and replaces it when its
+ * estimate is higher, so items that become popular later are still picked up
+ * without scanning or locking the whole set on the request path. All counters are halved every {@code 10 x width} accesses so
+ * that old popularity decays; counts loaded from disk on start are halved too.
+ * The top-k ids and their estimates are persisted on shutdown so the next start
+ * can preload the items that were hottest in the previous run.
+ */
+@Slf4j
+@Component
+public class AccessFrequencyTracker {
+
+    private static final int DEPTH = 4;
+    // Members compared per admission; sets no larger than this are scanned in full.
+    private static final int EVICTION_SAMPLES = 8;
+    private static final int NO_SLOT = -1;
+
+    private final WarmupProperties properties;
+    private final int capacity;
+    private final int widthMask;
+    private final AtomicIntegerArray counters;
+    private final long decayPeriod;
+    private final AtomicLong accessesSinceDecay = new AtomicLong();
+    private final AtomicReferenceArray<String> topItems;
+    private final Map<String, Integer> topItemSlots = new ConcurrentHashMap<>();
+    private final AtomicInteger filledSlots = new AtomicInteger();
+    private volatile boolean recording = true;
+
+    public AccessFrequencyTracker(WarmupProperties properties) {
+        this.properties = properties;
+        this.capacity = Math.max(1, properties.getMaxTrackedItems());
+        int width = Integer.highestOneBit(Math.max(1024, capacity * 4) - 1) << 1;
+        this.widthMask = width - 1;
+        this.counters = new AtomicIntegerArray(DEPTH * width);
+        this.decayPeriod = 10L * width;
+        this.topItems = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    public void record(String itemId) {
+        if (!recording) {
+            return;
+        }
+        long estimate = add(itemId, 1);
+        if (accessesSinceDecay.incrementAndGet() >= decayPeriod) {
+            decay();
+        }
+        offer(itemId, estimate);
+    }
+
+    public List<String> hottest(int limit) {
+        return IntStream.range(0, capacity)
+                .mapToObj(topItems::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(this::estimate).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    long estimate(String itemId) {
+        int hash = spread(itemId.hashCode());
+        int step = spread(hash ^ 0x5bd1e995) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash, step)));
+        }
+        return estimate;
+    }
+
+    private long add(String itemId, int count) {
+        int hash = spread(itemId.hashCode());
+        int step = spread(hash ^ 0x5bd1e995) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, hash, step), count));
+        }
+        return estimate;
+    }
+
+    private void offer(String itemId, long estimate) {
+        if (topItemSlots.containsKey(itemId)) {
+            return;
+        }
+        if (filledSlots.get() < capacity && topItemSlots.putIfAbsent(itemId, NO_SLOT) == null) {
+            int slot = filledSlots.getAndIncrement();
+            if (slot < capacity) {
+                topItems.set(slot, itemId);
+                topItemSlots.put(itemId, slot);
+                return;
+            }
+            topItemSlots.remove(itemId, NO_SLOT);
+        }
+        admit(itemId, estimate);
+    }
+
+    /**
+     * Replaces the coldest of a few sampled members when the candidate is
+     * hotter. Constant work per call and no lock; a lost race simply leaves
+     * the candidate out until its next access.
+     */
+    private void admit(String itemId, long estimate) {
+        int victimSlot = NO_SLOT;
+        String victim = null;
+        long victimEstimate = Long.MAX_VALUE;
+        boolean scanAll = capacity <= EVICTION_SAMPLES;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < Math.min(capacity, EVICTION_SAMPLES); i++) {
+            int slot = scanAll ? i : random.nextInt(capacity);
+            String candidate = topItems.get(slot);
+            if (candidate == null) {
+                continue;
+            }
+            long candidateEstimate = estimate(candidate);
+            if (candidateEstimate < victimEstimate) {
+                victimSlot = slot;
+                victim = candidate;
+                victimEstimate = candidateEstimate;
+            }
+        }
+        if (victim == null || estimate <= victimEstimate
+                || topItemSlots.putIfAbsent(itemId, victimSlot) != null) {
+            return;
+        }
+        if (topItems.compareAndSet(victimSlot, victim, itemId)) {
+            topItemSlots.remove(victim, victimSlot);
+        } else {
+            topItemSlots.remove(itemId, victimSlot);
+        }
+    }
+
+    private synchronized void decay() {
+        if (accessesSinceDecay.get() < decayPeriod) {
+            return;
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+        accessesSinceDecay.addAndGet(-decayPeriod / 2);
+    }
+
+    private int index(int row, int hash, int step) {
+        return row * (widthMask + 1) + ((hash + row * step) & widthMask);
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9e3779b9;
+        return hash ^ (hash >>> 16);
+    }
+
+    @PostConstruct
+    public void load() {
+        Path file = Paths.get(properties.getSketchFile());
+        if (!Files.isReadable(file)) {
+            return;
+        }
+        int loaded = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null && loaded < capacity) {
+                int separator = line.lastIndexOf(',');
+                if (separator <= 0) {
+                    continue;
+                }
+                long count = Long.parseLong(line.substring(separator + 1).trim()) / 2;
+                if (count > 0) {
+                    String itemId = line.substring(0, separator);
+                    offer(itemId, add(itemId, (int) Math.min(count, Integer.MAX_VALUE / 2)));
+                    loaded++;
+                }
+            }
+            log.info("Loaded access frequencies for {} items from {}", loaded, file);
+        } catch (IOException | NumberFormatException ex) {
+            log.warn("Could not load access frequencies from {}: {}", file, ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void persist() {
+        Path file = Paths.get(properties.getSketchFile());
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "access-frequency", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (String itemId : hottest(capacity)) {
+                    writer.write(itemId + "," + estimate(itemId));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.warn("Could not persist access frequencies to {}: {}", file, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.inventoryservice.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records startup metrics: time from JVM start to ready, and the latency
+ * distribution (including p99) of API requests served in the first minute
+ * after the application reported ready.
+ */
+@Component
+public class FirstMinuteLatencyFilter extends OncePerRequestFilter {
+
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+    private final Timer firstMinuteTimer;
+    private volatile long readyAtNanos = -1;
+
+    public FirstMinuteLatencyFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.firstMinuteTimer = Timer.builder("inventory.http.first-minute")
+                .description("Latency of API requests served in the first minute after ready")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .distributionStatisticExpiry(Duration.ofDays(365))
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        readyAtNanos = System.nanoTime();
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        TimeGauge.builder("inventory.startup.time-to-ready", () -> uptimeMillis, TimeUnit.MILLISECONDS)
+                .description("Time from JVM start until the application reported ready")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        long readyAt = readyAtNanos;
+        return readyAt < 0
+                || System.nanoTime() - readyAt > WINDOW_NANOS
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            firstMinuteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.inventoryservice.warmup;
+
+import com.example.inventoryservice.config.WarmupProperties;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs before the application reports ready: Spring Boot only publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC} once all application runners have
+ * completed, so the readiness probe stays OUT_OF_SERVICE until warm-up is done.
+ * The embedded server is already listening at that point, so the hot paths are
+ * exercised with real HTTP requests against it; that way the filters, message
+ * converters and Jackson serializers are compiled along with the service code.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupWarmup implements ApplicationRunner {
+
+    private final WarmupProperties properties;
+    private final AccessFrequencyTracker accessFrequencyTracker;
+    private final DataSource dataSource;
+    private final JpaInventoryRepository jpaInventoryRepository;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationContext applicationContext;
+    private final Environment environment;
+    private final RestClient.Builder restClientBuilder;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        if (properties.isPrimeConnectionPool()) {
+            primeConnectionPool();
+        }
+        List<String> hotItemIds = preloadHotItems();
+        exerciseHotPaths(hotItemIds);
+
+        long nanos = sample.stop(meterRegistry.timer("inventory.warmup.duration"));
+        log.info("Warm-up completed in {} ms with {} hot items", nanos / 1_000_000, hotItemIds.size());
+    }
+
+    private void primeConnectionPool() {
+        int connections = 1;
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                connections = dataSource.unwrap(HikariDataSource.class).getMinimumIdle();
+            }
+        } catch (SQLException ex) {
+            log.debug("Could not determine connection pool size: {}", ex.getMessage());
+        }
+        List<Connection> opened = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = dataSource.getConnection();
+                opened.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException ex) {
+            log.warn("Connection pool priming stopped after {} connections: {}", opened.size(), ex.getMessage());
+        } finally {
+            for (Connection connection : opened) {
+                try {
+                    connection.close();
+                } catch (SQLException ex) {
+                    log.debug("Failed to return warm-up connection: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<String> preloadHotItems() {
+        List<String> hotItemIds = accessFrequencyTracker.hottest(properties.getHotItems());
+        if (!hotItemIds.isEmpty()) {
+            jpaInventoryRepository.findAllById(hotItemIds);
+        }
+        return hotItemIds;
+    }
+
+    private void exerciseHotPaths(List<String> hotItemIds) {
+        if (!(applicationContext instanceof WebServerApplicationContext webContext)
+                || webContext.getWebServer() == null || webContext.getWebServer().getPort() <= 0) {
+            log.info("No local web server, skipping request warm-up");
+            return;
+        }
+        RestClient client = restClientBuilder
+                .baseUrl("http://localhost:" + webContext.getWebServer().getPort()
+                        + environment.getProperty("server.servlet.context-path", "")
+                        + "/api/v1/inventory")
+                .build();
+
+        // Synthetic calls must not skew the frequencies persisted for the next start.
+        accessFrequencyTracker.setRecording(false);
+        try {
+            for (int i = 0; i < properties.getIterations(); i++) {
+                // Alternate wire formats so both the JSON and CBOR converters get compiled.
+                MediaType accept = i % 2 == 0 ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_CBOR;
+                get(client, accept, "/stats/count");
+                if (!hotItemIds.isEmpty()) {
+                    String id = hotItemIds.get(i % hotItemIds.size());
+                    get(client, accept, "/{id}", id);
+                    get(client, accept, "/{id}/availability?quantity=1", id);
+                }
+                if (i % 20 == 0) {
+                    get(client, accept, "/low-stock");
+                }
+            }
+        } finally {
+            accessFrequencyTracker.setRecording(true);
+        }
+    }
+
+    private void get(RestClient client, MediaType accept, String uri, Object... uriVariables) {
+        try {
+            client.get().uri(uri, uriVariables).accept(accept).retrieve().toBodilessEntity();
+        } catch (RuntimeException ex) {
+            log.debug("Warm-up request {} failed: {}", uri, ex.getMessage());
+        }
+    }
+}
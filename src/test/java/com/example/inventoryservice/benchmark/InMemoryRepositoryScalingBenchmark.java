@@ -0,0 +1,101 @@
+package com.example.inventoryservice.benchmark;
+
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.repository.InMemoryInventoryRepository;
+import com.example.inventoryservice.repository.InventoryRepository;
+import com.example.inventoryservice.repository.ShardedInMemoryInventoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the in-memory repositories under a read-mostly mix. Run it at
+ * several thread counts to see how each scales, e.g.
+ * {@code ./mvnw -Pbenchmark test -Dbenchmark.include=InMemoryRepository -Dbenchmark.threads=1,2,4,8}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InMemoryRepositoryScalingBenchmark {
+
+    private static final int CATEGORIES = 20;
+
+    @Param({"simple", "sharded"})
+    String type;
+
+    @Param({"10000"})
+    int items;
+
+    private InventoryRepository repository;
+
+    @Setup
+    public void setUp() {
+        repository = "sharded".equals(type)
+                ? new ShardedInMemoryInventoryRepository(0)
+                : new InMemoryInventoryRepository();
+        for (int i = 0; i < items; i++) {
+            repository.save(item(i, i % 50));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (repository instanceof ShardedInMemoryInventoryRepository sharded) {
+            sharded.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Object pointRead() {
+        return repository.findById(id(ThreadLocalRandom.current().nextInt(items)));
+    }
+
+    /** 90% point reads, 9% quantity updates, 1% category scans. */
+    @Benchmark
+    public Object mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        int index = random.nextInt(items);
+        if (roll < 90) {
+            return repository.findById(id(index));
+        }
+        if (roll < 99) {
+            return repository.save(item(index, random.nextInt(50)));
+        }
+        int matches = 0;
+        for (InventoryItem item : repository.findByCategory("category-" + (index % CATEGORIES))) {
+            matches += item.getQuantity();
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int lowStockScan() {
+        return repository.findLowStockItems().size();
+    }
+
+    private static String id(int index) {
+        return "item-" + index;
+    }
+
+    private static InventoryItem item(int index, int quantity) {
+        return InventoryItem.builder()
+                .id(id(index))
+                .name("Item " + index)
+                .category("category-" + (index % CATEGORIES))
+                .quantity(quantity)
+                .price(BigDecimal.TEN)
+                .minimumStockLevel(10)
+                .build();
+    }
+}
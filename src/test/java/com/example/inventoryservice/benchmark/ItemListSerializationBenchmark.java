@@ -0,0 +1,91 @@
+package com.example.inventoryservice.benchmark;
+
+import com.example.inventoryservice.dto.ApiResponse;
+import com.example.inventoryservice.dto.InventoryItemDto;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.serialization.InventoryItemListView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a list response: mapping every entity to a DTO and letting
+ * Jackson's bean serializer write it, against streaming the entity fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemListSerializationBenchmark {
+
+    @Param({"10", "500"})
+    int items;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<InventoryItem> entities;
+
+    @Setup
+    public void setUp() {
+        entities = new ArrayList<>(items);
+        LocalDateTime now = LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123_456_789);
+        for (int i = 0; i < items; i++) {
+            entities.add(InventoryItem.builder()
+                    .id(String.format("00000000-0000-4000-8000-%012d", i))
+                    .name("Item " + i)
+                    .description("Description of item " + i)
+                    .category("category-" + (i % 20))
+                    .quantity(i % 50)
+                    .price(new BigDecimal(i + ".99"))
+                    .minimumStockLevel(10)
+                    .createdAt(now.minusDays(i))
+                    .updatedAt(now)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void mappedDtos() throws IOException {
+        List<InventoryItemDto> dtos = new ArrayList<>(entities.size());
+        for (InventoryItem entity : entities) {
+            dtos.add(toDto(entity));
+        }
+        mapper.writeValue(OutputStream.nullOutputStream(), ApiResponse.success(dtos));
+    }
+
+    @Benchmark
+    public void streamedEntities() throws IOException {
+        InventoryItemListView view = new InventoryItemListView(entities, ItemListSerializationBenchmark::toDto);
+        view.streamFromEntities();
+        mapper.writeValue(OutputStream.nullOutputStream(), ApiResponse.success(view));
+    }
+
+    private static InventoryItemDto toDto(InventoryItem item) {
+        return InventoryItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .category(item.getCategory())
+                .quantity(item.getQuantity())
+                .price(item.getPrice())
+                .minimumStockLevel(item.getMinimumStockLevel())
+                .createdAt(item.getCreatedAt())
+                .updatedAt(item.getUpdatedAt())
+                .lowStock(item.isLowStock())
+                .outOfStock(item.isOutOfStock())
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.inventoryservice.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the JMH benchmarks in this package. Excluded from the default build; run
+ * with {@code ./mvnw -Pbenchmark test}. Tunable with -Dbenchmark.include (regex),
+ * -Dbenchmark.threads (comma-separated thread counts, one run each),
+ * -Dbenchmark.forks, -Dbenchmark.warmup-iterations, -Dbenchmark.iterations and
+ * -Dbenchmark.iteration-seconds. The GC profiler is always on, so every result
+ * reports bytes/op as gc.alloc.rate.norm next to the timing.
+ */
+@Tag("benchmark")
+class JmhBenchmarkTest {
+
+    private final Path outputDir = Path.of("target", "jmh");
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Files.createDirectories(outputDir);
+        for (String threads : System.getProperty("benchmark.threads", "1").split(",")) {
+            int threadCount = Integer.parseInt(threads.trim());
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(JmhBenchmarkTest.class.getPackageName() + ".*"
+                            + System.getProperty("benchmark.include", "Benchmark") + ".*")
+                    .threads(threadCount)
+                    .forks(Integer.getInteger("benchmark.forks", 1))
+                    .warmupIterations(Integer.getInteger("benchmark.warmup-iterations", 3))
+                    .measurementIterations(Integer.getInteger("benchmark.iterations", 5))
+                    .warmupTime(TimeValue.seconds(Long.getLong("benchmark.iteration-seconds", 2)))
+                    .measurementTime(TimeValue.seconds(Long.getLong("benchmark.iteration-seconds", 2)))
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(outputDir.resolve("results-" + threadCount + "-threads.json").toString())
+                    .output(outputDir.resolve("results-" + threadCount + "-threads.txt").toString());
+            new Runner(options.build()).run();
+        }
+    }
+}
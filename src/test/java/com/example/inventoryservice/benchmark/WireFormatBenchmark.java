@@ -0,0 +1,82 @@
+package com.example.inventoryservice.benchmark;
+
+import com.example.inventoryservice.dto.ApiResponse;
+import com.example.inventoryservice.dto.InventoryItemDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a list response in JSON and CBOR, with mappers
+ * configured the way the application's message converters are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<ApiResponse<List<InventoryItemDto>>> LIST_RESPONSE = new TypeReference<>() {};
+
+    @Param({"json", "cbor"})
+    String format;
+
+    @Param({"1", "100"})
+    int items;
+
+    private ObjectMapper mapper;
+    private ApiResponse<List<InventoryItemDto>> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()
+                : Jackson2ObjectMapperBuilder.json().build();
+
+        List<InventoryItemDto> dtos = new ArrayList<>(items);
+        LocalDateTime now = LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123_456_789);
+        for (int i = 0; i < items; i++) {
+            dtos.add(InventoryItemDto.builder()
+                    .id(String.format("00000000-0000-4000-8000-%012d", i))
+                    .name("Item " + i)
+                    .description("Description of item " + i)
+                    .category("category-" + (i % 20))
+                    .quantity(i % 50)
+                    .price(new BigDecimal(i + ".99"))
+                    .minimumStockLevel(10)
+                    .createdAt(now.minusDays(i))
+                    .updatedAt(now)
+                    .lowStock(i % 50 <= 10)
+                    .outOfStock(i % 50 == 0)
+                    .build());
+        }
+        response = ApiResponse.success(dtos);
+        encoded = mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ApiResponse<List<InventoryItemDto>> decode() throws IOException {
+        return mapper.readValue(encoded, LIST_RESPONSE);
+    }
+}
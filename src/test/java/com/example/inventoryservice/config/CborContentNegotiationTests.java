@@ -0,0 +1,120 @@
+package com.example.inventoryservice.config;
+
+import com.example.inventoryservice.dto.CreateInventoryItemRequest;
+import com.example.inventoryservice.dto.StockUpdateRequest;
+import com.example.inventoryservice.service.InventoryService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CborContentNegotiationTests {
+
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    private final ObjectMapper cborMapper = new CBORMapper();
+
+    private String itemId;
+
+    @BeforeEach
+    void createItem() {
+        CreateInventoryItemRequest request = new CreateInventoryItemRequest();
+        request.setName("Widget");
+        request.setCategory("Tools");
+        request.setQuantity(20);
+        request.setPrice(new BigDecimal("19.90"));
+        itemId = inventoryService.createItem(request).getId();
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/api/v1/inventory/{id}", itemId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.id").value(itemId));
+
+        mockMvc.perform(get("/api/v1/inventory/{id}", itemId).accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void acceptCborNegotiatesCbor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/inventory/{id}", itemId).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn();
+
+        JsonNode body = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.at("/data/id").asText()).isEqualTo(itemId);
+        assertThat(body.at("/data/quantity").asInt()).isEqualTo(20);
+        // Boot's spring.jackson defaults apply: ISO strings rather than timestamp arrays
+        assertThat(body.get("timestamp").isTextual()).isTrue();
+    }
+
+    @Test
+    void cborRequestBodyIsAccepted() throws Exception {
+        byte[] request = cborMapper.writeValueAsBytes(new StockUpdateRequest(5, "Order 1042"));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/inventory/{id}/stock/reduce", itemId)
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode body = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.at("/data/quantity").asInt()).isEqualTo(15);
+    }
+
+    @Test
+    void singleCborConverterFollowsJson() {
+        List<HttpMessageConverter<?>> converters = handlerAdapter.getMessageConverters();
+
+        List<Integer> cborPositions = converters.stream()
+                .filter(MappingJackson2CborHttpMessageConverter.class::isInstance)
+                .map(converters::indexOf)
+                .toList();
+        int lastJsonPosition = -1;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                lastJsonPosition = i;
+            }
+        }
+
+        assertThat(cborPositions).containsExactly(lastJsonPosition + 1);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.inventoryservice.config;
+
+import com.example.inventoryservice.dto.ApiResponse;
+import com.example.inventoryservice.dto.InventoryItemDto;
+import com.example.inventoryservice.dto.StockUpdateRequest;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.serialization.InventoryItemListView;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CborWireFormatTests {
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+    private final InventoryItemDto item = InventoryItemDto.builder()
+            .id("3f2b8c1e-0000-4000-8000-000000000001")
+            .name("Widget")
+            .description("Blue widget")
+            .category("Tools")
+            .quantity(7)
+            .price(new BigDecimal("19.90"))
+            .minimumStockLevel(10)
+            .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5))
+            .updatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_000))
+            .lowStock(true)
+            .build();
+
+    private final InventoryItem entity = InventoryItem.builder()
+            .id(item.getId())
+            .name(item.getName())
+            .description(item.getDescription())
+            .category(item.getCategory())
+            .quantity(item.getQuantity())
+            .price(item.getPrice())
+            .minimumStockLevel(item.getMinimumStockLevel())
+            .createdAt(item.getCreatedAt())
+            .updatedAt(item.getUpdatedAt())
+            .build();
+
+    @Test
+    void itemResponseRoundTripsLikeJson() throws Exception {
+        ApiResponse<InventoryItemDto> response = ApiResponse.success("Stock reduced successfully", item);
+        TypeReference<ApiResponse<InventoryItemDto>> type = new TypeReference<>() {};
+
+        ApiResponse<InventoryItemDto> viaJson = json.readValue(json.writeValueAsBytes(response), type);
+        ApiResponse<InventoryItemDto> viaCbor = cbor.readValue(cbor.writeValueAsBytes(response), type);
+
+        assertThat(viaCbor).isEqualTo(viaJson).isEqualTo(response);
+    }
+
+    @Test
+    void itemListResponseRoundTripsLikeJson() throws Exception {
+        ApiResponse<List<InventoryItemDto>> response = ApiResponse.success(List.of(item, item));
+        TypeReference<ApiResponse<List<InventoryItemDto>>> type = new TypeReference<>() {};
+
+        ApiResponse<List<InventoryItemDto>> viaJson = json.readValue(json.writeValueAsBytes(response), type);
+        ApiResponse<List<InventoryItemDto>> viaCbor = cbor.readValue(cbor.writeValueAsBytes(response), type);
+        InventoryItemListView view = new InventoryItemListView(List.of(entity, entity), e -> item);
+        view.streamFromEntities();
+        ApiResponse<List<InventoryItemDto>> viaStreamingCbor = cbor.readValue(
+                cbor.writeValueAsBytes(new ApiResponse<>(true, null, view, response.getTimestamp())), type);
+
+        assertThat(viaCbor).isEqualTo(viaJson).isEqualTo(response);
+        assertThat(viaStreamingCbor).isEqualTo(viaJson);
+    }
+
+    @Test
+    void stockUpdateRequestRoundTripsLikeJson() throws Exception {
+        StockUpdateRequest request = new StockUpdateRequest(3, "Order 1042");
+
+        StockUpdateRequest viaJson = json.readValue(json.writeValueAsBytes(request), StockUpdateRequest.class);
+        StockUpdateRequest viaCbor = cbor.readValue(cbor.writeValueAsBytes(request), StockUpdateRequest.class);
+
+        assertThat(viaCbor).isEqualTo(viaJson).isEqualTo(request);
+    }
+
+    @Test
+    void cborPayloadIsSmallerThanJson() throws Exception {
+        ApiResponse<List<InventoryItemDto>> response = ApiResponse.success(List.of(item, item, item));
+
+        assertThat(cbor.writeValueAsBytes(response).length)
+                .isLessThan(json.writeValueAsBytes(response).length);
+    }
+}
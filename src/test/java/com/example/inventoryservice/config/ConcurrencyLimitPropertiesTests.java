@@ -0,0 +1,52 @@
+package com.example.inventoryservice.config;
+
+import com.example.inventoryservice.config.ConcurrencyLimitProperties.Budget;
+import com.example.inventoryservice.config.ConcurrencyLimitProperties.EndpointClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitPropertiesTests {
+
+    @Test
+    void shippedPropertiesKeepEachClassesBudget() throws IOException {
+        ConcurrencyLimitProperties properties = bind(
+                PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties")));
+
+        assertBudget(properties, EndpointClass.MUTATION, 40, 4, 200);
+        assertBudget(properties, EndpointClass.POINT_READ, 60, 4, 400);
+        assertBudget(properties, EndpointClass.BULK_READ, 10, 1, 50);
+    }
+
+    @Test
+    void overridingOneSettingKeepsTheClassDefaultsForTheRest() {
+        ConcurrencyLimitProperties properties = bind(Map.of(
+                "inventory.concurrency.budgets.bulk-read.initial-limit", "5",
+                "inventory.concurrency.budgets.point-read.tolerance", "3.0"));
+
+        assertBudget(properties, EndpointClass.BULK_READ, 5, 1, 50);
+        assertBudget(properties, EndpointClass.POINT_READ, 60, 4, 400);
+        assertThat(properties.getBudgets().get(EndpointClass.POINT_READ).getTolerance()).isEqualTo(3.0);
+        assertBudget(properties, EndpointClass.MUTATION, 40, 4, 200);
+    }
+
+    private static ConcurrencyLimitProperties bind(Map<?, ?> source) {
+        return new Binder(new MapConfigurationPropertySource(source))
+                .bindOrCreate("inventory.concurrency", ConcurrencyLimitProperties.class);
+    }
+
+    private static void assertBudget(ConcurrencyLimitProperties properties, EndpointClass endpointClass,
+                                     int initialLimit, int minLimit, int maxLimit) {
+        Budget budget = properties.getBudgets().get(endpointClass);
+        assertThat(budget.getInitialLimit()).as("%s initial limit", endpointClass).isEqualTo(initialLimit);
+        assertThat(budget.getMinLimit()).as("%s min limit", endpointClass).isEqualTo(minLimit);
+        assertThat(budget.getMaxLimit()).as("%s max limit", endpointClass).isEqualTo(maxLimit);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.inventoryservice.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+
+    // Heartbeats and tokens are in primary time, which need not be close to this machine's clock.
+    private static final long PRIMARY_NOW = 1_000_000_000L;
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), 5_000);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ConsistencyContext.clear();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToUpToDateReplica() {
+        routingDataSource.recordAppliedUpTo(0, PRIMARY_NOW, PRIMARY_NOW);
+
+        assertThat(roleIn(readOnly)).isEqualTo("replica");
+        assertThat(roleIn(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void usesPrimaryWhenReplicaLagIsUnknownOrTooHigh() {
+        assertThat(roleIn(readOnly)).isEqualTo("primary");
+
+        routingDataSource.recordAppliedUpTo(0, PRIMARY_NOW - 60_000, PRIMARY_NOW);
+        assertThat(roleIn(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    void honoursConsistencyTokenForReadYourWrites() {
+        long writtenAt = PRIMARY_NOW;
+        routingDataSource.recordAppliedUpTo(0, writtenAt - 100, PRIMARY_NOW);
+        ConsistencyContext.set(writtenAt);
+
+        assertThat(roleIn(readOnly)).isEqualTo("primary");
+
+        routingDataSource.recordAppliedUpTo(0, writtenAt, PRIMARY_NOW + 50);
+        assertThat(roleIn(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void countsTimeSinceTheLastMeasurementAsLag() throws InterruptedException {
+        ReplicaRoutingDataSource strict = new ReplicaRoutingDataSource(primary, List.of(replica), 50);
+        TransactionTemplate strictReadOnly = new TransactionTemplate(
+                new DataSourceTransactionManager(new LazyConnectionDataSourceProxy(strict)));
+        strictReadOnly.setReadOnly(true);
+        JdbcTemplate strictJdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(strict));
+        strict.recordAppliedUpTo(0, PRIMARY_NOW - 20, PRIMARY_NOW);
+
+        TransactionCallback<String> role = status -> strictJdbc.queryForObject("SELECT role FROM node_role", String.class);
+
+        assertThat(strictReadOnly.execute(role)).isEqualTo("replica");
+
+        Thread.sleep(100);
+        assertThat(strictReadOnly.execute(role)).isEqualTo("primary");
+    }
+
+    @Test
+    void usesPrimaryOutsideTransactions() {
+        routingDataSource.recordAppliedUpTo(0, PRIMARY_NOW, PRIMARY_NOW);
+
+        assertThat(role()).isEqualTo("primary");
+    }
+
+    private String roleIn(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> role());
+    }
+
+    private String role() {
+        return jdbcTemplate.queryForObject("SELECT role FROM node_role", String.class);
+    }
+
+    private static EmbeddedDatabase database(String role) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node_role (role VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO node_role (role) VALUES (?)", role);
+        return database;
+    }
+}
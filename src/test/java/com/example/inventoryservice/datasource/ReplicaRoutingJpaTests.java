@@ -0,0 +1,164 @@
+package com.example.inventoryservice.datasource;
+
+import com.example.inventoryservice.dto.CreateInventoryItemRequest;
+import com.example.inventoryservice.service.InventoryService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two separate embedded databases behind the routing data source. The heartbeat is
+// pushed out so the tests decide how far behind the replica is.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.connection-timeout=7000",
+        "inventory.datasource.routing.enabled=true",
+        "inventory.datasource.routing.heartbeat-interval-ms=3600000",
+        "inventory.datasource.routing.instance-id=instance-a",
+        "inventory.datasource.routing.replicas[0].url=jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "inventory.datasource.routing.replicas[0].username=sa",
+        "inventory.datasource.routing.replicas[0].password="
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingJpaTests {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(routingDataSource.getPrimary());
+        replica = new JdbcTemplate(routingDataSource.getReplicas().get(0));
+    }
+
+    @Test
+    void readOnlyServiceCallsAreServedByAnUpToDateReplica() {
+        String itemId = createItem("Widget");
+        replicate();
+        replica.update("UPDATE inventory_items SET name = ? WHERE id = ?", "Widget (replica)", itemId);
+
+        replicaAppliedUpTo(System.currentTimeMillis());
+
+        assertThat(inventoryService.getItemById(itemId).getName()).isEqualTo("Widget (replica)");
+    }
+
+    @Test
+    void readOnlyServiceCallsUseThePrimaryWhileTheReplicaLags() {
+        String itemId = createItem("Widget");
+        replicate();
+        replica.update("UPDATE inventory_items SET name = ? WHERE id = ?", "Widget (replica)", itemId);
+
+        replicaAppliedUpTo(System.currentTimeMillis() - 60_000);
+
+        assertThat(inventoryService.getItemById(itemId).getName()).isEqualTo("Widget");
+    }
+
+    @Test
+    void writesGoToThePrimaryEvenWhenTheReplicaIsEligible() {
+        replicate();
+        replicaAppliedUpTo(System.currentTimeMillis());
+
+        String itemId = createItem("Gadget");
+
+        assertThat(countItems(primary, itemId)).isEqualTo(1);
+        assertThat(countItems(replica, itemId)).isZero();
+    }
+
+    @Test
+    void eachInstanceStampsItsOwnHeartbeatRowWithThePrimaryClock() {
+        primary.update("INSERT INTO replica_heartbeat (instance_id, beat_at) VALUES (?, ?)", "instance-b", 42L);
+        long before = System.currentTimeMillis();
+
+        replicaLagMonitor.heartbeat();
+
+        assertThat(primary.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE instance_id = ?",
+                Long.class, "instance-a")).isBetween(before - 1_000, System.currentTimeMillis() + 1_000);
+        assertThat(primary.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE instance_id = ?",
+                Long.class, "instance-b")).isEqualTo(42L);
+        primary.update("DELETE FROM replica_heartbeat WHERE instance_id = ?", "instance-b");
+    }
+
+    @Test
+    void mutationResponsesCarryATokenFromThePrimaryClock() throws Exception {
+        long before = replicaLagMonitor.primaryTimeMillis();
+
+        String token = mockMvc.perform(post("/api/v1/inventory/{id}/stock/add", createItem("Widget"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":1}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("X-Consistency-Token");
+
+        assertThat(Long.parseLong(token)).isBetween(before, replicaLagMonitor.primaryTimeMillis());
+    }
+
+    @Test
+    void sharedHikariSettingsApplyToEveryPool() {
+        HikariDataSource primaryPool = (HikariDataSource) routingDataSource.getPrimary();
+        HikariDataSource replicaPool = (HikariDataSource) routingDataSource.getReplicas().get(0);
+
+        for (HikariDataSource pool : new HikariDataSource[]{primaryPool, replicaPool}) {
+            assertThat(pool.getMaximumPoolSize()).isEqualTo(4);
+            assertThat(pool.getConnectionTimeout()).isEqualTo(7000);
+        }
+        assertThat(primaryPool.getPoolName()).isEqualTo("primary");
+        assertThat(replicaPool.getPoolName()).isEqualTo("replica-0");
+        assertThat(replicaPool.getJdbcUrl()).startsWith("jdbc:h2:mem:routing-replica");
+        assertThat(replicaPool.isReadOnly()).isTrue();
+    }
+
+    /**
+     * Stands in for replication: replaces the replica's contents with a copy of the primary.
+     */
+    private void replicate() {
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : primary.queryForList("SCRIPT", String.class)) {
+            replica.execute(statement);
+        }
+    }
+
+    private void replicaAppliedUpTo(long primaryTimeMillis) {
+        replica.update("UPDATE replica_heartbeat SET beat_at = ? WHERE instance_id = ?",
+                primaryTimeMillis, "instance-a");
+        replicaLagMonitor.heartbeat();
+    }
+
+    private String createItem(String name) {
+        CreateInventoryItemRequest request = new CreateInventoryItemRequest();
+        request.setName(name);
+        request.setCategory("Tools");
+        request.setQuantity(10);
+        request.setPrice(BigDecimal.TEN);
+        request.setMinimumStockLevel(5);
+        return inventoryService.createItem(request).getId();
+    }
+
+    private static int countItems(JdbcTemplate jdbcTemplate, String itemId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_items WHERE id = ?", Integer.class, itemId);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.inventoryservice.event;
+
+import com.example.inventoryservice.config.StockAlertProperties;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.JpaLocationStockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StockAlertDispatcherTests {
+
+    private static final int MINIMUM_STOCK_LEVEL = 10;
+
+    private final List<StockAlert> alerts = new CopyOnWriteArrayList<>();
+    private final List<Runnable> queued = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JpaInventoryRepository inventoryRepository = mock(JpaInventoryRepository.class);
+    private final JpaLocationStockRepository locationStockRepository = mock(JpaLocationStockRepository.class);
+    private StockAlertDispatcher dispatcher;
+    private Integer rowQuantity;
+    private boolean locationManaged;
+    private boolean rejectTasks;
+
+    @BeforeEach
+    void setUp() {
+        StockAlertProperties properties = new StockAlertProperties();
+        properties.setHysteresis(5);
+        dispatcher = new StockAlertDispatcher(List.<StockAlertSink>of(alerts::add), properties,
+                inventoryRepository, locationStockRepository, meterRegistry, task -> {
+                    if (rejectTasks) {
+                        throw new RejectedExecutionException("full");
+                    }
+                    queued.add(task);
+                });
+        rowQuantity = 50;
+        when(inventoryRepository.findById(anyString())).thenAnswer(invocation -> rowQuantity == null
+                ? Optional.empty()
+                : Optional.of(InventoryItem.builder()
+                        .id(invocation.getArgument(0))
+                        .name("Widget")
+                        .quantity(rowQuantity)
+                        .minimumStockLevel(MINIMUM_STOCK_LEVEL)
+                        .locationManaged(locationManaged)
+                        .updatedAt(LocalDateTime.now())
+                        .build()));
+    }
+
+    @Test
+    void raisesLowStockAlertOnceWhileOscillatingAroundMinimum() {
+        changeQuantity(10);
+        changeQuantity(11);
+        changeQuantity(9);
+        changeQuantity(12);
+        changeQuantity(10);
+
+        assertThat(alertTypes()).containsExactly(StockAlertType.LOW_STOCK);
+    }
+
+    @Test
+    void clearsAlertOnlyAboveHysteresisBand() {
+        changeQuantity(8);
+        changeQuantity(15);
+        changeQuantity(16);
+        changeQuantity(9);
+
+        assertThat(alertTypes()).containsExactly(
+                StockAlertType.LOW_STOCK, StockAlertType.RESTOCKED, StockAlertType.LOW_STOCK);
+    }
+
+    @Test
+    void escalatesToOutOfStockAndBack() {
+        changeQuantity(5);
+        changeQuantity(0);
+        changeQuantity(2);
+        changeQuantity(0);
+        changeQuantity(6);
+
+        assertThat(alertTypes()).containsExactly(
+                StockAlertType.LOW_STOCK, StockAlertType.OUT_OF_STOCK, StockAlertType.LOW_STOCK);
+    }
+
+    @Test
+    void ignoresChangesThatStayWellStocked() {
+        changeQuantity(40);
+        changeQuantity(30);
+
+        assertThat(alertTypes()).isEmpty();
+        assertThat(queued).isEmpty();
+    }
+
+    @Test
+    void outOfOrderEventsFollowTheCurrentRow() {
+        // The restock to 40 committed last, but the earlier drop to 5 is delivered after it.
+        rowQuantity = 40;
+        publish(50, 40);
+        publish(50, 5);
+        runQueued();
+
+        assertThat(alertTypes()).isEmpty();
+    }
+
+    @Test
+    void coalescesPendingEvaluationsPerItem() {
+        rowQuantity = 3;
+        publish(50, 8);
+        publish(8, 3);
+        publish(3, 0);
+
+        assertThat(queued).hasSize(1);
+        rowQuantity = 0;
+        runQueued();
+
+        assertThat(alertTypes()).containsExactly(StockAlertType.OUT_OF_STOCK);
+    }
+
+    @Test
+    void dropsEvaluationWhenQueueIsFullAndRetriesOnNextChange() {
+        rejectTasks = true;
+        changeQuantity(5);
+        rejectTasks = false;
+        changeQuantity(4);
+
+        assertThat(meterRegistry.get("inventory.alerts.dropped").counter().count()).isEqualTo(1);
+        assertThat(alertTypes()).containsExactly(StockAlertType.LOW_STOCK);
+    }
+
+    @Test
+    void locationManagedItemsUseTheLocationTotalRatherThanTheRolledUpRow() {
+        locationManaged = true;
+        when(locationStockRepository.sumQuantity("item-1")).thenReturn(3L);
+
+        // The item row still holds the total from before the last rollup.
+        publish(50, 3);
+        runQueued();
+
+        assertThat(alerts).singleElement().satisfies(alert -> {
+            assertThat(alert.getType()).isEqualTo(StockAlertType.LOW_STOCK);
+            assertThat(alert.getQuantity()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void deletedItemClearsItsAlert() {
+        changeQuantity(5);
+        rowQuantity = null;
+        dispatcher.onStockLevelChanged(StockLevelChangedEvent.builder()
+                .itemId("item-1")
+                .deleted(true)
+                .occurredAt(LocalDateTime.now())
+                .build());
+        runQueued();
+        rowQuantity = 5;
+        publish(50, 5);
+        runQueued();
+
+        assertThat(alertTypes()).containsExactly(StockAlertType.LOW_STOCK, StockAlertType.LOW_STOCK);
+    }
+
+    private void changeQuantity(int quantity) {
+        int previous = rowQuantity;
+        rowQuantity = quantity;
+        publish(previous, quantity);
+        runQueued();
+    }
+
+    private void publish(int previous, int quantity) {
+        dispatcher.onStockLevelChanged(StockLevelChangedEvent.builder()
+                .itemId("item-1")
+                .itemName("Widget")
+                .quantity(quantity)
+                .minimumStockLevel(MINIMUM_STOCK_LEVEL)
+                .wasLowStock(previous <= MINIMUM_STOCK_LEVEL)
+                .lowStock(quantity <= MINIMUM_STOCK_LEVEL)
+                .wasOutOfStock(previous <= 0)
+                .outOfStock(quantity <= 0)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private List<StockAlertType> alertTypes() {
+        return alerts.stream().map(StockAlert::getType).toList();
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.inventoryservice.ledger;
+
+import com.example.inventoryservice.config.LedgerProperties;
+import com.example.inventoryservice.event.StockLevelChangedEvent;
+import com.example.inventoryservice.model.StockMovement;
+import com.example.inventoryservice.repository.JpaStockMovementRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockMovementRecorderTests {
+
+    private final JpaStockMovementRepository repository = mock(JpaStockMovementRepository.class);
+    private final StockSnapshotWriter snapshotWriter = mock(StockSnapshotWriter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<StockMovement> written = new CopyOnWriteArrayList<>();
+    private final LedgerProperties properties = new LedgerProperties();
+    private StockMovementRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        properties.setQueueCapacity(10);
+        recorder = recorder();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<StockMovement> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch;
+        });
+        when(repository.save(any())).thenAnswer(invocation -> {
+            StockMovement movement = invocation.getArgument(0);
+            written.add(movement);
+            return movement;
+        });
+    }
+
+    @Test
+    void writesQueuedMovementsInBatches() {
+        for (int i = 1; i <= 5; i++) {
+            record("item-" + i, "restock");
+        }
+
+        recorder.flush();
+
+        verify(repository, times(3)).saveAll(anyList());
+        verify(snapshotWriter, times(3)).movementsWritten(anyList());
+        assertThat(itemIds()).containsExactly("item-1", "item-2", "item-3", "item-4", "item-5");
+    }
+
+    @Test
+    void deadLettersRowsThatFailOnTheirOwnAndKeepsDraining() {
+        doAnswer(invocation -> {
+            List<StockMovement> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(movement -> "bad".equals(movement.getReason()))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            written.addAll(batch);
+            return batch;
+        }).when(repository).saveAll(anyList());
+        doAnswer(invocation -> {
+            StockMovement movement = invocation.getArgument(0);
+            if ("bad".equals(movement.getReason())) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            written.add(movement);
+            return movement;
+        }).when(repository).save(any());
+        record("item-1", "restock");
+        record("item-2", "bad");
+        record("item-3", "restock");
+
+        recorder.flush();
+
+        assertThat(itemIds()).containsExactly("item-1", "item-3");
+        assertThat(meterRegistry.get("inventory.ledger.dead-lettered").counter().count()).isEqualTo(1);
+
+        record("item-4", "restock");
+        recorder.flush();
+
+        assertThat(itemIds()).containsExactly("item-1", "item-3", "item-4");
+    }
+
+    @Test
+    void keepsTheBatchWhileTheDatabaseIsUnavailable() {
+        List<Integer> attempts = new ArrayList<>();
+        doAnswer(invocation -> {
+            attempts.add(1);
+            if (attempts.size() == 1) {
+                throw new QueryTimeoutException("timeout");
+            }
+            List<StockMovement> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch;
+        }).when(repository).saveAll(anyList());
+        record("item-1", "restock");
+
+        recorder.flush();
+        assertThat(written).isEmpty();
+
+        recorder.flush();
+        assertThat(itemIds()).containsExactly("item-1");
+        assertThat(meterRegistry.get("inventory.ledger.dead-lettered").counter().count()).isZero();
+    }
+
+    @Test
+    void writesMovementsDirectlyWhileTheQueueIsFull() {
+        properties.setQueueCapacity(1);
+        recorder = recorder();
+
+        record("item-1", "restock");
+        record("item-2", "restock");
+
+        assertThat(itemIds()).containsExactly("item-2");
+        verify(snapshotWriter).movementsWritten(List.of(written.get(0)));
+        assertThat(meterRegistry.get("inventory.ledger.overflow-writes").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("inventory.ledger.dropped").counter().count()).isZero();
+
+        recorder.flush();
+        assertThat(itemIds()).containsExactly("item-2", "item-1");
+    }
+
+    @Test
+    void dropsOnlyWhenTheQueueIsFullAndTheDirectWriteFails() {
+        properties.setQueueCapacity(1);
+        recorder = recorder();
+        StockLedgerHealthIndicator health = new StockLedgerHealthIndicator(recorder, properties);
+        doThrow(new QueryTimeoutException("timeout")).when(repository).save(any());
+
+        record("item-1", "restock");
+        assertThat(health.health().getStatus()).isEqualTo(Status.DOWN);
+        record("item-2", "restock");
+
+        assertThat(meterRegistry.get("inventory.ledger.dropped").counter().count()).isEqualTo(1);
+        Health afterDrop = health.health();
+        assertThat(afterDrop.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(afterDrop.getDetails()).containsEntry("dropped", 1L).containsEntry("dropRate", "0.500000");
+
+        recorder.flush();
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void ignoresChangesWithoutADelta() {
+        recorder.onStockLevelChanged(StockLevelChangedEvent.builder()
+                .itemId("item-1")
+                .delta(0)
+                .quantity(5)
+                .locationQuantity(5)
+                .occurredAt(LocalDateTime.now())
+                .build());
+
+        recorder.flush();
+
+        assertThat(written).isEmpty();
+    }
+
+    private void record(String itemId, String reason) {
+        recorder.onStockLevelChanged(StockLevelChangedEvent.builder()
+                .itemId(itemId)
+                .warehouseCode("EAST")
+                .delta(5)
+                .reason(reason)
+                .quantity(5)
+                .locationQuantity(5)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    private StockMovementRecorder recorder() {
+        return new StockMovementRecorder(repository, snapshotWriter, properties,
+                mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    private List<String> itemIds() {
+        return written.stream().map(StockMovement::getItemId).toList();
+    }
+}
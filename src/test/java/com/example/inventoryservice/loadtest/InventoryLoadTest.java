@@ -0,0 +1,186 @@
+package com.example.inventoryservice.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load scenarios against the REST API booted on an embedded H2
+ * database. Excluded from the default build; run with
+ * {@code ./mvnw -Pload-test test}. Tunable with -Dloadtest.threads,
+ * -Dloadtest.warmup-seconds, -Dloadtest.duration-seconds, -Dloadtest.items and
+ * -Dloadtest.hot-items. Results and JFR recordings are written to
+ * target/load-test, along with a readable report that is also logged; pass
+ * -Dloadtest.baseline=&lt;dir&gt; with the results of an earlier run to report the
+ * change against it.
+ */
+@Slf4j
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// Runs on the test profile's H2 setup; only what differs for a load run is overridden here.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "logging.level.com.example.inventoryservice=WARN",
+        "logging.level.com.example.inventoryservice.loadtest=INFO",
+        "inventory.warmup.enabled=true",
+        "inventory.warmup.sketch-file=target/load-test/access-frequency.txt"
+})
+@ActiveProfiles("test")
+class InventoryLoadTest {
+
+    private static final String API = "/api/v1/inventory";
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+    private static final int CATEGORIES = 20;
+
+    private final int threads = Integer.getInteger("loadtest.threads", 16);
+    private final int itemCount = Integer.getInteger("loadtest.items", 1000);
+    private final int hotItemCount = Integer.getInteger("loadtest.hot-items", 10);
+    private final Path outputDir = Path.of("target", "load-test");
+    private final Path baselineDir = System.getProperty("loadtest.baseline") != null
+            ? Path.of(System.getProperty("loadtest.baseline")) : null;
+    private final LoadTestRunner runner = new LoadTestRunner(threads,
+            Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5)),
+            Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+            outputDir);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    private final List<String> itemIds = new ArrayList<>();
+
+    @BeforeAll
+    void seedCatalog() throws Exception {
+        for (int i = 0; i < itemCount; i++) {
+            String body = String.format(
+                    "{\"name\":\"Item %d\",\"category\":\"category-%d\",\"quantity\":%d,\"price\":%d.99,"
+                            + "\"minimumStockLevel\":10}",
+                    i, i % CATEGORIES, i < hotItemCount ? 100_000_000 : 500, i % 100);
+            HttpResponse<String> response = send(post(API, body));
+            assertThat(response.statusCode()).isEqualTo(201);
+            itemIds.add(extractId(response.body()));
+        }
+    }
+
+    @Test
+    void checkoutStorm() throws Exception {
+        LoadTestResult result = runner.run("checkout-storm", (worker, iteration) -> {
+            String id = itemIds.get((int) ((worker + iteration) % hotItemCount));
+            HttpRequest request = HttpRequest.newBuilder(uri(API + "/" + id + "/stock/reduce"))
+                    .header("Content-Type", "application/json")
+                    .header("X-Request-Priority", "checkout")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"quantity\":1,\"reason\":\"load-test\"}"))
+                    .build();
+            return send(request).statusCode();
+        });
+        report(result);
+    }
+
+    @Test
+    void catalogBrowse() throws Exception {
+        LoadTestResult result = runner.run("catalog-browse", (worker, iteration) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int pick = random.nextInt(100);
+            String path;
+            if (pick < 50) {
+                path = API + "?category=category-" + random.nextInt(CATEGORIES);
+            } else if (pick < 80) {
+                path = API + "/" + itemIds.get(random.nextInt(itemIds.size()));
+            } else if (pick < 95) {
+                path = API + "/low-stock";
+            } else {
+                path = API;
+            }
+            return send(HttpRequest.newBuilder(uri(path)).GET().build()).statusCode();
+        });
+        report(result);
+    }
+
+    @Test
+    void mixedCrud() throws Exception {
+        LoadTestResult result = runner.run("mixed-crud", (worker, iteration) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String id = itemIds.get(hotItemCount + random.nextInt(itemIds.size() - hotItemCount));
+            int pick = random.nextInt(100);
+            if (pick < 10) {
+                HttpResponse<String> created = send(post(API, String.format(
+                        "{\"name\":\"Load %d-%d\",\"category\":\"category-%d\",\"quantity\":50,\"price\":9.99}",
+                        worker, iteration, random.nextInt(CATEGORIES))));
+                if (created.statusCode() == 201) {
+                    String createdId = extractId(created.body());
+                    send(HttpRequest.newBuilder(uri(API + "/" + createdId)).DELETE().build());
+                }
+                return created.statusCode();
+            } else if (pick < 50) {
+                return send(HttpRequest.newBuilder(uri(API + "/" + id)).GET().build()).statusCode();
+            } else if (pick < 70) {
+                return send(HttpRequest.newBuilder(uri(API + "/" + id))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                "{\"description\":\"Updated " + iteration + "\"}"))
+                        .build()).statusCode();
+            } else if (pick < 85) {
+                return send(post(API + "/" + id + "/stock/add", "{\"quantity\":2,\"reason\":\"restock\"}"))
+                        .statusCode();
+            } else {
+                return send(post(API + "/" + id + "/stock/reduce", "{\"quantity\":1,\"reason\":\"order\"}"))
+                        .statusCode();
+            }
+        });
+        report(result);
+    }
+
+    private void report(LoadTestResult result) throws Exception {
+        String report = result.report(baselineDir);
+        result.write(outputDir, report);
+        log.info("{}", report);
+        assertThat(result.requests()).isPositive();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String extractId(String body) {
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No id in response: " + body);
+        }
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.inventoryservice.loadtest;
+
+@FunctionalInterface
+interface LoadOperation {
+
+    /**
+     * Performs one request and returns its HTTP status.
+     */
+    int execute(int worker, long iteration) throws Exception;
+}
@@ -0,0 +1,126 @@
+package com.example.inventoryservice.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+class LoadTestResult {
+
+    private static final String[] COMPARED = {
+            "throughput.rps", "latency.p50.ms", "latency.p99.ms", "error.rate", "allocated.bytes.per.request"
+    };
+
+    private final String scenario;
+    private final long[] latenciesNanos;
+    private final Map<Integer, Long> statusCounts;
+    private final long errors;
+    private final double elapsedSeconds;
+    private final long allocatedBytes;
+
+    LoadTestResult(String scenario, long[] latenciesNanos, Map<Integer, Long> statusCounts, long errors,
+                   double elapsedSeconds, long allocatedBytes) {
+        this.scenario = scenario;
+        this.latenciesNanos = latenciesNanos;
+        this.statusCounts = new TreeMap<>(statusCounts);
+        this.errors = errors;
+        this.elapsedSeconds = elapsedSeconds;
+        this.allocatedBytes = allocatedBytes;
+        Arrays.sort(this.latenciesNanos);
+    }
+
+    long requests() {
+        return latenciesNanos.length;
+    }
+
+    double errorRate() {
+        return requests() == 0 ? 0 : (double) errors / requests();
+    }
+
+    Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("scenario", scenario);
+        properties.setProperty("requests", String.valueOf(requests()));
+        properties.setProperty("elapsed.seconds", format(elapsedSeconds));
+        properties.setProperty("throughput.rps", format(requests() / elapsedSeconds));
+        properties.setProperty("latency.p50.ms", format(percentileMillis(0.50)));
+        properties.setProperty("latency.p90.ms", format(percentileMillis(0.90)));
+        properties.setProperty("latency.p99.ms", format(percentileMillis(0.99)));
+        properties.setProperty("latency.p999.ms", format(percentileMillis(0.999)));
+        properties.setProperty("latency.max.ms", format(percentileMillis(1.0)));
+        properties.setProperty("errors", String.valueOf(errors));
+        properties.setProperty("error.rate", format(errorRate()));
+        properties.setProperty("allocated.bytes.per.request",
+                String.valueOf(requests() == 0 ? 0 : allocatedBytes / requests()));
+        statusCounts.forEach((status, count) ->
+                properties.setProperty("status." + status, String.valueOf(count)));
+        return properties;
+    }
+
+    String report(Path baselineDir) throws IOException {
+        Properties current = toProperties();
+        Properties baseline = loadBaseline(baselineDir);
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n=== Load test: %s ===%n", scenario));
+        for (String key : new TreeSet<>(current.stringPropertyNames())) {
+            report.append(String.format("  %-30s %15s", key, current.getProperty(key)));
+            if (baseline != null && baseline.containsKey(key) && Arrays.asList(COMPARED).contains(key)) {
+                double before = Double.parseDouble(baseline.getProperty(key));
+                double after = Double.parseDouble(current.getProperty(key));
+                report.append(String.format("   baseline %12s", baseline.getProperty(key)));
+                if (before != 0) {
+                    report.append(String.format(Locale.ROOT, " (%+.1f%%)", (after - before) * 100 / before));
+                }
+            }
+            report.append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the raw results, which later runs can use as a baseline, and the
+     * readable report next to them.
+     */
+    void write(Path outputDir, String report) throws IOException {
+        Files.createDirectories(outputDir);
+        try (Writer writer = Files.newBufferedWriter(outputDir.resolve(scenario + ".properties"))) {
+            toProperties().store(writer, "Load test results for " + scenario);
+        }
+        Files.writeString(outputDir.resolve(scenario + "-report.txt"), report);
+    }
+
+    private Properties loadBaseline(Path baselineDir) throws IOException {
+        if (baselineDir == null) {
+            return null;
+        }
+        Path file = baselineDir.resolve(scenario + ".properties");
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    private double percentileMillis(double percentile) {
+        if (latenciesNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * latenciesNanos.length) - 1;
+        return latenciesNanos[Math.max(0, Math.min(index, latenciesNanos.length - 1))] / 1_000_000.0;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.inventoryservice.loadtest;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives a {@link LoadOperation} from a fixed number of closed-loop workers.
+ * Requests issued during the warm-up period are discarded. The measured period
+ * is captured in a JFR recording using the JDK "profile" settings, which
+ * include allocation sampling. Bytes allocated by the embedded Tomcat's request
+ * threads ({@code http-nio-*}) are reported per request; the client workers and
+ * background threads are left out so the figure reflects the server alone.
+ */
+class LoadTestRunner {
+
+    private static final String SERVER_THREAD_PREFIX = "http-nio-";
+
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Path outputDir;
+
+    LoadTestRunner(int threads, Duration warmup, Duration duration, Path outputDir) {
+        this.threads = threads;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.outputDir = outputDir;
+    }
+
+    LoadTestResult run(String scenario, LoadOperation operation) throws Exception {
+        drive(operation, System.nanoTime() + warmup.toNanos(), false, () -> { });
+
+        Files.createDirectories(outputDir);
+        try (Recording recording = new Recording(Configuration.getConfiguration("profile"))) {
+            recording.setName(scenario);
+            recording.start();
+            Map<Long, Long> allocatedBefore = serverThreadAllocations();
+            long start = System.nanoTime();
+            AtomicLong elapsedNanos = new AtomicLong();
+            AtomicLong allocated = new AtomicLong();
+
+            List<Worker> workers = drive(operation, start + duration.toNanos(), true, () -> {
+                elapsedNanos.set(System.nanoTime() - start);
+                allocated.set(allocatedSince(allocatedBefore));
+            });
+
+            recording.stop();
+            recording.dump(outputDir.resolve(scenario + ".jfr"));
+
+            return merge(scenario, workers, elapsedNanos.get() / 1e9, allocated.get());
+        }
+    }
+
+    /**
+     * Runs the workers until the deadline; {@code finished} is called once all
+     * of them have returned and before their threads are shut down.
+     */
+    private List<Worker> drive(LoadOperation operation, long deadlineNanos, boolean record,
+                               Runnable finished) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Worker>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                Worker worker = new Worker(i, record);
+                futures.add(executor.submit(() -> worker.run(operation, deadlineNanos)));
+            }
+            List<Worker> workers = new ArrayList<>(threads);
+            for (Future<Worker> future : futures) {
+                workers.add(future.get());
+            }
+            finished.run();
+            return workers;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LoadTestResult merge(String scenario, List<Worker> workers, double elapsedSeconds, long allocated) {
+        int total = workers.stream().mapToInt(worker -> worker.count).sum();
+        long[] latencies = new long[total];
+        Map<Integer, Long> statusCounts = new HashMap<>();
+        long errors = 0;
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+            errors += worker.errors;
+            worker.statusCounts.forEach((status, count) -> statusCounts.merge(status, count, Long::sum));
+        }
+        return new LoadTestResult(scenario, latencies, statusCounts, errors, elapsedSeconds, allocated);
+    }
+
+    /**
+     * Bytes allocated by server threads since {@code before}. Threads started
+     * in the meantime count from zero; threads that have since exited are lost.
+     */
+    private static long allocatedSince(Map<Long, Long> before) {
+        long total = 0;
+        for (Map.Entry<Long, Long> thread : serverThreadAllocations().entrySet()) {
+            total += thread.getValue() - before.getOrDefault(thread.getKey(), 0L);
+        }
+        return total;
+    }
+
+    private static Map<Long, Long> serverThreadAllocations() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<Long, Long> allocations = new HashMap<>();
+        for (ThreadInfo thread : threadBean.getThreadInfo(threadBean.getAllThreadIds())) {
+            if (thread == null || !thread.getThreadName().startsWith(SERVER_THREAD_PREFIX)) {
+                continue;
+            }
+            long allocated = threadBean.getThreadAllocatedBytes(thread.getThreadId());
+            if (allocated > 0) {
+                allocations.put(thread.getThreadId(), allocated);
+            }
+        }
+        return allocations;
+    }
+
+    private static final class Worker {
+
+        private final int id;
+        private final boolean record;
+        private long[] latencies = new long[4096];
+        private int count;
+        private long errors;
+        private final Map<Integer, Long> statusCounts = new HashMap<>();
+
+        private Worker(int id, boolean record) {
+            this.id = id;
+            this.record = record;
+        }
+
+        private Worker run(LoadOperation operation, long deadlineNanos) {
+            for (long iteration = 0; System.nanoTime() < deadlineNanos; iteration++) {
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = operation.execute(id, iteration);
+                } catch (Exception ex) {
+                    status = -1;
+                }
+                long latency = System.nanoTime() - start;
+                if (record) {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = latency;
+                    statusCounts.merge(status, 1L, Long::sum);
+                    if (status < 200 || status >= 400) {
+                        errors++;
+                    }
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.inventoryservice.ratelimit;
+
+import com.example.inventoryservice.config.ConcurrencyLimitProperties.Budget;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private long now;
+
+    @Test
+    void rejectsBeyondLimitUnlessWithinPriorityHeadroom() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(0)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(0)).isFalse();
+        assertThat(limiter.tryAcquire(0.2)).isTrue();
+        assertThat(limiter.tryAcquire(0.2)).isTrue();
+        assertThat(limiter.tryAcquire(0.2)).isFalse();
+    }
+
+    @Test
+    void growsLimitWhileSaturatedAndLatencyIsSteady() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 20; i++) {
+            saturatedWindow(limiter, FAST, false);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(10).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void shrinksLimitWhenShortTermLatencyRisesAboveLongTerm() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        for (int i = 0; i < 10; i++) {
+            saturatedWindow(limiter, FAST, false);
+        }
+        int steady = limiter.getLimit();
+
+        for (int i = 0; i < 10; i++) {
+            saturatedWindow(limiter, SLOW, false);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(steady).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void backsOffOnlyOncePerWindowHoweverManyRequestsFail() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        saturatedWindow(limiter, FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        saturatedWindow(limiter, FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void adjustsNothingBeforeTheWindowCloses() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(0)).isTrue();
+            limiter.release(FAST, true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void doesNotGrowWhileMostOfTheLimitIsUnused() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire(0)).isTrue();
+            now += WINDOW;
+            limiter.release(FAST, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    // Fills the limit, completes every request with the given latency and closes the window.
+    private void saturatedWindow(AdaptiveConcurrencyLimiter limiter, long latencyNanos, boolean failed) {
+        int acquired = 0;
+        while (limiter.tryAcquire(0)) {
+            acquired++;
+        }
+        for (int i = 1; i < acquired; i++) {
+            limiter.release(latencyNanos, failed);
+        }
+        now += Math.max(WINDOW, latencyNanos);
+        limiter.release(latencyNanos, failed);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        Budget budget = new Budget();
+        budget.setInitialLimit(initialLimit);
+        budget.setMinLimit(2);
+        budget.setMaxLimit(100);
+        budget.setWindowMs(100);
+        return new AdaptiveConcurrencyLimiter(budget, () -> now);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.inventoryservice.ratelimit;
+
+import com.example.inventoryservice.config.ConcurrencyLimitProperties;
+import com.example.inventoryservice.config.ConcurrencyLimitProperties.Budget;
+import com.example.inventoryservice.config.ConcurrencyLimitProperties.EndpointClass;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTests {
+
+    private static final String ITEM = "/api/v1/inventory/item-1";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties.setRetryAfterSeconds(3);
+        properties.getBudgets().setMutation(budget(5));
+        properties.getBudgets().setPointRead(budget(5));
+        properties.getBudgets().setBulkRead(budget(5));
+        filter = new ConcurrencyLimitFilter(properties, objectMapper, meterRegistry);
+    }
+
+    @Test
+    void classifiesRequestsByMethodAndPath() {
+        assertThat(filter.classify(request("GET", "/api/v1/inventory"))).isEqualTo(EndpointClass.BULK_READ);
+        assertThat(filter.classify(request("GET", "/api/v1/inventory/low-stock"))).isEqualTo(EndpointClass.BULK_READ);
+        assertThat(filter.classify(request("GET", "/api/v1/inventory/out-of-stock"))).isEqualTo(EndpointClass.BULK_READ);
+        assertThat(filter.classify(request("GET", ITEM + "/locations"))).isEqualTo(EndpointClass.BULK_READ);
+        assertThat(filter.classify(request("GET", ITEM + "/ledger/movements"))).isEqualTo(EndpointClass.BULK_READ);
+        assertThat(filter.classify(request("GET", ITEM + "/ledger/report"))).isEqualTo(EndpointClass.BULK_READ);
+        assertThat(filter.classify(request("GET", ITEM))).isEqualTo(EndpointClass.POINT_READ);
+        assertThat(filter.classify(request("GET", ITEM + "/availability"))).isEqualTo(EndpointClass.POINT_READ);
+        assertThat(filter.classify(request("GET", ITEM + "/ledger/stock"))).isEqualTo(EndpointClass.POINT_READ);
+        assertThat(filter.classify(request("GET", "/api/v1/inventory/stats/count"))).isEqualTo(EndpointClass.POINT_READ);
+        assertThat(filter.classify(request("POST", "/api/v1/inventory"))).isEqualTo(EndpointClass.MUTATION);
+        assertThat(filter.classify(request("POST", ITEM + "/stock/reduce"))).isEqualTo(EndpointClass.MUTATION);
+        assertThat(filter.classify(request("PUT", ITEM))).isEqualTo(EndpointClass.MUTATION);
+        assertThat(filter.classify(request("DELETE", ITEM))).isEqualTo(EndpointClass.MUTATION);
+    }
+
+    @Test
+    void skipsRequestsOutsideTheInventoryApi() throws Exception {
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        holding(5, "GET", ITEM, () -> {
+            responses.add(perform(request("GET", "/actuator/health")));
+            responses.add(perform(request("GET", "/api/v1/inventory/alerts/stream")));
+        });
+
+        assertThat(responses).extracting(MockHttpServletResponse::getStatus).containsOnly(200);
+    }
+
+    @Test
+    void shedsWith503RetryAfterAndAnErrorBody() throws Exception {
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        holding(5, "GET", ITEM, () -> responses.add(perform(request("GET", ITEM + "/availability"))));
+
+        MockHttpServletResponse response = responses.get(0);
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+        assertThat(response.getContentType()).startsWith("application/json");
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertThat(body.get("status").asInt()).isEqualTo(503);
+        assertThat(body.get("error").asText()).isEqualTo("Service Unavailable");
+        assertThat(body.get("path").asText()).isEqualTo(ITEM + "/availability");
+        assertThat(body.hasNonNull("timestamp")).isTrue();
+        assertThat(meterRegistry.get("inventory.concurrency.rejected")
+                .tag("class", "point_read").tag("priority", "false").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void budgetsAreSeparatePerEndpointClass() throws Exception {
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        holding(5, "GET", "/api/v1/inventory", () -> {
+            responses.add(perform(request("POST", ITEM + "/stock/add")));
+            responses.add(perform(request("GET", ITEM)));
+            responses.add(perform(request("GET", "/api/v1/inventory/low-stock")));
+        });
+
+        assertThat(responses).extracting(MockHttpServletResponse::getStatus).containsExactly(200, 200, 503);
+    }
+
+    @Test
+    void priorityRequestsMayUseTheHeadroom() throws Exception {
+        String uri = ITEM + "/stock/reduce";
+        List<Integer> statuses = new ArrayList<>();
+        // A limit of 5 with 20% headroom leaves one extra slot for priority requests.
+        holding(5, "POST", uri, () -> {
+            statuses.add(perform(request("POST", uri)).getStatus());
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(checkout(uri), response, (request, ignored) -> {
+                try {
+                    statuses.add(perform(checkout(uri)).getStatus());
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            statuses.add(response.getStatus());
+        });
+
+        assertThat(statuses).containsExactly(503, 503, 200);
+        assertThat(meterRegistry.get("inventory.concurrency.rejected")
+                .tag("class", "mutation").tag("priority", "false").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("inventory.concurrency.rejected")
+                .tag("class", "mutation").tag("priority", "true").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void passesEverythingThroughWhenDisabled() throws Exception {
+        properties.setEnabled(false);
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        holding(10, "GET", ITEM, () -> responses.add(perform(request("GET", ITEM))));
+
+        assertThat(responses).extracting(MockHttpServletResponse::getStatus).containsExactly(200);
+    }
+
+    /**
+     * Runs {@code probe} while {@code count} requests of the given kind are in
+     * flight, by nesting each request inside the previous one's filter chain.
+     */
+    private void holding(int count, String method, String uri, Probe probe) throws Exception {
+        if (count == 0) {
+            probe.run();
+            return;
+        }
+        FilterChain chain = (request, response) -> {
+            try {
+                holding(count - 1, method, uri, probe);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri), response, chain);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest checkout(String uri) {
+        MockHttpServletRequest request = request("POST", uri);
+        request.addHeader("X-Request-Priority", "checkout");
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private static Budget budget(int limit) {
+        Budget budget = new Budget();
+        budget.setInitialLimit(limit);
+        budget.setMinLimit(1);
+        budget.setMaxLimit(limit * 2);
+        return budget;
+    }
+
+    @FunctionalInterface
+    private interface Probe {
+        void run() throws Exception;
+    }
+}
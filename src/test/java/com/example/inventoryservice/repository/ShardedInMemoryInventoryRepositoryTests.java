@@ -0,0 +1,127 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.InventoryItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedInMemoryInventoryRepositoryTests {
+
+    private final ShardedInMemoryInventoryRepository repository = new ShardedInMemoryInventoryRepository(4);
+
+    @AfterEach
+    void tearDown() {
+        repository.shutdown();
+    }
+
+    @Test
+    void savesFindsAndRemovesAcrossShards() {
+        for (int i = 0; i < 100; i++) {
+            repository.save(item("item-" + i, "Tools", 50));
+        }
+
+        assertThat(repository.count()).isEqualTo(100);
+        assertThat(repository.findAll()).hasSize(100);
+        assertThat(repository.findById("item-42")).map(InventoryItem::getId).contains("item-42");
+
+        repository.deleteById("item-42");
+        repository.deleteById("missing");
+
+        assertThat(repository.existsById("item-42")).isFalse();
+        assertThat(repository.count()).isEqualTo(99);
+        assertThat(ids(repository.findAll())).hasSize(99).doesNotContain("item-42");
+    }
+
+    @Test
+    void categoryIndexFollowsRecategorisation() {
+        repository.save(item("a", "Tools", 50));
+        repository.save(item("b", "tools", 50));
+        repository.save(item("c", "Garden", 50));
+
+        assertThat(ids(repository.findByCategory("TOOLS"))).containsExactlyInAnyOrder("a", "b");
+
+        repository.save(item("b", "Garden", 50));
+        repository.save(item("c", null, 50));
+
+        assertThat(ids(repository.findByCategory("tools"))).containsExactly("a");
+        assertThat(ids(repository.findByCategory("garden"))).containsExactly("b");
+
+        repository.deleteById("a");
+
+        assertThat(repository.findByCategory("tools")).isEmpty();
+        assertThat(repository.findByCategory("unknown")).isEmpty();
+    }
+
+    @Test
+    void stockIndexesFollowQuantityChanges() {
+        repository.save(item("a", "Tools", 50));
+        repository.save(item("b", "Tools", 5));
+        repository.save(item("c", "Tools", 0));
+
+        assertThat(ids(repository.findLowStockItems())).containsExactlyInAnyOrder("b", "c");
+        assertThat(ids(repository.findOutOfStockItems())).containsExactly("c");
+
+        repository.save(item("a", "Tools", 0));
+        repository.save(item("c", "Tools", 30));
+
+        assertThat(ids(repository.findLowStockItems())).containsExactlyInAnyOrder("a", "b");
+        assertThat(ids(repository.findOutOfStockItems())).containsExactly("a");
+
+        repository.deleteById("a");
+
+        assertThat(ids(repository.findLowStockItems())).containsExactly("b");
+        assertThat(repository.findOutOfStockItems()).isEmpty();
+    }
+
+    @Test
+    void cachedResultsAreReplacedAfterWrites() {
+        repository.save(item("a", "Tools", 5));
+        List<InventoryItem> before = repository.findLowStockItems();
+        assertThat(repository.findLowStockItems()).isEqualTo(before);
+
+        repository.save(item("b", "Tools", 1));
+
+        assertThat(ids(before)).containsExactly("a");
+        assertThat(ids(repository.findLowStockItems())).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void resultsAreReadOnly() {
+        repository.save(item("a", "Tools", 5));
+
+        assertThatThrownBy(() -> repository.findAll().remove(0)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void onlyOneInMemoryRepositoryIsRegistered() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withUserConfiguration(InMemoryInventoryRepository.class, ShardedInMemoryInventoryRepository.class);
+
+        runner.run(context -> assertThat(context).getBean(InventoryRepository.class)
+                .isExactlyInstanceOf(InMemoryInventoryRepository.class));
+        runner.withPropertyValues("inventory.repository.type=sharded", "inventory.repository.shards=2")
+                .run(context -> assertThat(context).getBean(InventoryRepository.class)
+                        .isExactlyInstanceOf(ShardedInMemoryInventoryRepository.class));
+    }
+
+    private static List<String> ids(List<InventoryItem> items) {
+        return items.stream().map(InventoryItem::getId).toList();
+    }
+
+    private static InventoryItem item(String id, String category, int quantity) {
+        return InventoryItem.builder()
+                .id(id)
+                .name("Item " + id)
+                .category(category)
+                .quantity(quantity)
+                .price(BigDecimal.ONE)
+                .minimumStockLevel(10)
+                .build();
+    }
+}
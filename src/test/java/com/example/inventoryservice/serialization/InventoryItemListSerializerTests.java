@@ -0,0 +1,125 @@
+package com.example.inventoryservice.serialization;
+
+import com.example.inventoryservice.dto.ApiResponse;
+import com.example.inventoryservice.dto.InventoryItemDto;
+import com.example.inventoryservice.model.InventoryItem;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InventoryItemListSerializerTests {
+
+    private static final List<InventoryItem> ITEMS = List.of(
+            InventoryItem.builder()
+                    .id("a1")
+                    .name("Widget \"Pro\"")
+                    .description("Line one\nline two")
+                    .category("Tools")
+                    .quantity(5)
+                    .price(new BigDecimal("19.90"))
+                    .minimumStockLevel(10)
+                    .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4))
+                    .updatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_000_000))
+                    .build(),
+            InventoryItem.builder()
+                    .id("b2")
+                    .name("Gadget")
+                    .description("")
+                    .category("Electronics")
+                    .quantity(0)
+                    .price(new BigDecimal("1E+3"))
+                    .createdAt(LocalDateTime.of(999, 12, 31, 23, 59, 59, 1))
+                    .updatedAt(LocalDateTime.of(2024, 6, 30, 0, 0, 0, 999_999_999))
+                    .build());
+
+    @Test
+    void matchesDefaultSerialization() throws Exception {
+        assertIdentical(mapper().build());
+    }
+
+    @Test
+    void matchesDefaultSerializationAcrossInclusions() throws Exception {
+        for (JsonInclude.Include inclusion : new JsonInclude.Include[]{
+                JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_ABSENT,
+                JsonInclude.Include.NON_EMPTY, JsonInclude.Include.NON_DEFAULT}) {
+            assertIdentical(mapper().serializationInclusion(inclusion).build());
+        }
+    }
+
+    @Test
+    void matchesDefaultSerializationWithOtherMapperSettings() throws Exception {
+        assertIdentical(mapper().enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY).build());
+        assertIdentical(mapper().propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE).build());
+        assertIdentical(mapper().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+    }
+
+    @Test
+    void streamingDoesNotMaterializeDtos() throws Exception {
+        AtomicInteger mapped = new AtomicInteger();
+        InventoryItemListView view = new InventoryItemListView(ITEMS, item -> {
+            mapped.incrementAndGet();
+            return toDto(item);
+        });
+        view.streamFromEntities();
+
+        mapper().build().writeValueAsBytes(ApiResponse.success(view));
+
+        assertEquals(0, mapped.get());
+    }
+
+    private static JsonMapper.Builder mapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private void assertIdentical(ObjectMapper mapper) throws Exception {
+        assertIdentical(mapper, ITEMS);
+        assertIdentical(mapper, List.of());
+    }
+
+    private void assertIdentical(ObjectMapper mapper, List<InventoryItem> items) throws Exception {
+        List<InventoryItemDto> dtos = new ArrayList<>();
+        items.forEach(item -> dtos.add(toDto(item)));
+        InventoryItemListView view = new InventoryItemListView(items, InventoryItemListSerializerTests::toDto);
+        LocalDateTime timestamp = LocalDateTime.of(2024, 3, 4, 5, 6, 7);
+
+        byte[] expected = mapper.writeValueAsBytes(new ApiResponse<>(true, null, dtos, timestamp));
+        byte[] mapped = mapper.writeValueAsBytes(new ApiResponse<>(true, null, view, timestamp));
+        view.streamFromEntities();
+        byte[] streamed = mapper.writeValueAsBytes(new ApiResponse<>(true, null, view, timestamp));
+
+        assertArrayEquals(expected, mapped, () -> new String(mapped));
+        assertArrayEquals(expected, streamed, () -> new String(streamed));
+    }
+
+    private static InventoryItemDto toDto(InventoryItem item) {
+        return InventoryItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .category(item.getCategory())
+                .quantity(item.getQuantity())
+                .price(item.getPrice())
+                .minimumStockLevel(item.getMinimumStockLevel())
+                .createdAt(item.getCreatedAt())
+                .updatedAt(item.getUpdatedAt())
+                .lowStock(item.isLowStock())
+                .outOfStock(item.isOutOfStock())
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.StockAuditReportDto;
+import com.example.inventoryservice.event.StockLevelChangedEvent;
+import com.example.inventoryservice.ledger.StockMovementRecorder;
+import com.example.inventoryservice.ledger.StockSnapshotWriter;
+import com.example.inventoryservice.model.StockSnapshot;
+import com.example.inventoryservice.repository.JpaStockSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The writer thread is pushed out so the tests flush and snapshot explicitly.
+@SpringBootTest(properties = {
+        "inventory.ledger.flush-interval-ms=3600000",
+        "inventory.ledger.snapshot-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class StockLedgerServiceTests {
+
+    // Snapshot watermarks only move forward, so every test works in its own later day.
+    private static LocalDateTime nextDay = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private StockMovementRecorder recorder;
+
+    @Autowired
+    private StockSnapshotWriter snapshotWriter;
+
+    @Autowired
+    private JpaStockSnapshotRepository jpaStockSnapshotRepository;
+
+    private String itemId;
+    private LocalDateTime day;
+
+    @BeforeEach
+    void setUp() {
+        itemId = UUID.randomUUID().toString();
+        day = nextDay;
+        nextDay = nextDay.plusDays(1);
+    }
+
+    @Test
+    void auditReportAddsSnapshotsAndMovementsAfterThem() {
+        record(1, 50, 50);
+        record(2, -10, 40);
+        snapshotWriter.takeSnapshots(at(3));
+        record(4, 20, 60);
+        record(5, -5, 55);
+        snapshotWriter.takeSnapshots(at(6));
+        record(7, -15, 40);
+        recorder.flush();
+
+        StockAuditReportDto report = stockLedgerService.getAuditReport(itemId, at(2), at(7));
+
+        assertThat(report.getOpeningQuantity()).isEqualTo(40);
+        assertThat(report.getClosingQuantity()).isEqualTo(40);
+        assertThat(report.getTotalIn()).isEqualTo(20);
+        assertThat(report.getTotalOut()).isEqualTo(20);
+        assertThat(report.getMovementCount()).isEqualTo(3);
+
+        StockAuditReportDto sinceStart = stockLedgerService.getAuditReport(itemId, at(0), at(8));
+        assertThat(sinceStart.getOpeningQuantity()).isNull();
+        assertThat(sinceStart.getTotalIn()).isEqualTo(70);
+        assertThat(sinceStart.getTotalOut()).isEqualTo(30);
+        assertThat(sinceStart.getMovementCount()).isEqualTo(5);
+        assertThat(stockLedgerService.getStockAt(itemId, at(4))).isEqualTo(60);
+    }
+
+    @Test
+    void snapshotTotalsMatchTheMovementsUpToTheirTime() {
+        record(1, 30, 30);
+        record(2, -12, 18);
+        snapshotWriter.takeSnapshots(at(3));
+        record(4, 7, 25);
+        snapshotWriter.takeSnapshots(at(5));
+
+        StockSnapshot snapshot = latestSnapshot(at(5));
+        assertThat(snapshot.getTakenAt()).isEqualTo(at(5));
+        assertThat(snapshot.getQuantity()).isEqualTo(25);
+        assertThat(snapshot.getTotalIn()).isEqualTo(37);
+        assertThat(snapshot.getTotalOut()).isEqualTo(12);
+        assertThat(snapshot.getMovementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void lateMovementRebuildsTheSnapshotsItShouldHaveBeenIn() {
+        record(1, 30, 30);
+        snapshotWriter.takeSnapshots(at(3));
+        snapshotWriter.takeSnapshots(at(4));
+
+        // Stamped at hour 2 but written only after the snapshots at hours 3 and 4.
+        record(2, -10, 20);
+        snapshotWriter.takeSnapshots(at(5));
+
+        assertThat(jpaStockSnapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(
+                itemId, at(4))).isEmpty();
+        StockSnapshot snapshot = latestSnapshot(at(5));
+        assertThat(snapshot.getQuantity()).isEqualTo(20);
+        assertThat(snapshot.getTotalOut()).isEqualTo(10);
+        assertThat(snapshot.getMovementCount()).isEqualTo(2);
+
+        StockAuditReportDto report = stockLedgerService.getAuditReport(itemId, at(0), at(4));
+        assertThat(report.getTotalOut()).isEqualTo(10);
+        assertThat(report.getClosingQuantity()).isEqualTo(20);
+    }
+
+    private void record(int hour, int delta, int resultingQuantity) {
+        record(hour, "EAST", delta, resultingQuantity);
+    }
+
+    private void record(int hour, String warehouseCode, int delta, int reportedTotal) {
+        recorder.onStockLevelChanged(StockLevelChangedEvent.builder()
+                .itemId(itemId)
+                .warehouseCode(warehouseCode)
+                .delta(delta)
+                .reason("test")
+                .quantity(reportedTotal)
+                .locationQuantity(reportedTotal)
+                .occurredAt(at(hour))
+                .build());
+        recorder.flush();
+    }
+
+    @Test
+    void pointInTimeStockFollowsTheDeltasNotTheTotalsSeenByEachWrite() {
+        record(1, "EAST", 20, 20);
+        record(1, "WEST", 10, 30);
+        // Two concurrent reductions that each read the total before the other committed.
+        record(2, "EAST", -1, 29);
+        record(2, "WEST", -1, 29);
+
+        assertThat(stockLedgerService.getStockAt(itemId, at(2))).isEqualTo(28);
+        snapshotWriter.takeSnapshots(at(3));
+        assertThat(latestSnapshot(at(3)).getQuantity()).isEqualTo(28);
+
+        record(4, "EAST", 5, 99);
+        assertThat(stockLedgerService.getStockAt(itemId, at(4))).isEqualTo(33);
+        assertThat(stockLedgerService.getAuditReport(itemId, at(3), at(4)).getOpeningQuantity()).isEqualTo(28);
+    }
+
+    private StockSnapshot latestSnapshot(LocalDateTime at) {
+        return jpaStockSnapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(itemId, at)
+                .orElseThrow();
+    }
+
+    private LocalDateTime at(int hour) {
+        return day.plusHours(hour);
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.CreateInventoryItemRequest;
+import com.example.inventoryservice.dto.LocationStockDto;
+import com.example.inventoryservice.dto.StockUpdateRequest;
+import com.example.inventoryservice.dto.UpdateInventoryItemRequest;
+import com.example.inventoryservice.exception.InsufficientStockException;
+import com.example.inventoryservice.ledger.StockMovementRecorder;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.JpaLocationStockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The scheduled rollup is pushed out so the tests control when totals are recomputed.
+@SpringBootTest(properties = "inventory.locations.rollup-interval-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WarehouseStockServiceTests {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private WarehouseStockService warehouseStockService;
+
+    @Autowired
+    private LocationStockRollup locationStockRollup;
+
+    @Autowired
+    private JpaInventoryRepository jpaInventoryRepository;
+
+    @Autowired
+    private JpaLocationStockRepository jpaLocationStockRepository;
+
+    @Autowired
+    private StockMovementRecorder stockMovementRecorder;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void initialStockIsHeldInTheDefaultWarehouse() {
+        String itemId = createItem(25);
+
+        assertThat(locations(itemId)).containsExactlyEntriesOf(Map.of("DEFAULT", 25));
+        assertThat(inventoryService.getItemById(itemId).getQuantity()).isEqualTo(25);
+    }
+
+    @Test
+    void itemLevelStockChangesGoThroughLocations() {
+        String itemId = createItem(10);
+        warehouseStockService.addStock(itemId, "EAST", stock(30));
+
+        assertThat(inventoryService.addStock(itemId, stock(5)).getQuantity()).isEqualTo(45);
+        assertThat(inventoryService.reduceStock(itemId, stock(20)).getQuantity()).isEqualTo(25);
+        // The reduction is taken from the warehouse holding the most stock.
+        assertThat(locations(itemId)).isEqualTo(Map.of("DEFAULT", 15, "EAST", 10));
+    }
+
+    @Test
+    void itemLevelReductionDrawsFromSeveralWarehousesLargestFirst() {
+        String itemId = createItem(15);
+        warehouseStockService.addStock(itemId, "EAST", stock(10));
+        warehouseStockService.addStock(itemId, "WEST", stock(3));
+
+        assertThat(inventoryService.reduceStock(itemId, stock(20)).getQuantity()).isEqualTo(8);
+        assertThat(locations(itemId)).isEqualTo(Map.of("DEFAULT", 0, "EAST", 5, "WEST", 3));
+
+        assertThatThrownBy(() -> inventoryService.reduceStock(itemId, stock(9)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Available: 8");
+        // A failed reduction leaves every warehouse as it was.
+        assertThat(locations(itemId)).isEqualTo(Map.of("DEFAULT", 0, "EAST", 5, "WEST", 3));
+    }
+
+    @Test
+    void singleLocationReductionStaysAvailableAsAnOption() {
+        String itemId = createItem(15);
+        warehouseStockService.addStock(itemId, "EAST", stock(10));
+
+        assertThatThrownBy(() -> warehouseStockService.reduceStockFromAnyLocation(itemId, stock(20)))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThat(warehouseStockService.reduceStockFromAnyLocation(itemId, stock(12)).getWarehouseCode())
+                .isEqualTo("DEFAULT");
+    }
+
+    @Test
+    void quantityUpdateAddsToTheDefaultWarehouseAndReducesAcrossWarehouses() {
+        String itemId = createItem(10);
+        warehouseStockService.addStock(itemId, "EAST", stock(5));
+
+        UpdateInventoryItemRequest request = new UpdateInventoryItemRequest();
+        request.setQuantity(8);
+        assertThat(inventoryService.updateItem(itemId, request).getQuantity()).isEqualTo(8);
+        assertThat(locations(itemId)).isEqualTo(Map.of("DEFAULT", 3, "EAST", 5));
+
+        request.setQuantity(2);
+        assertThat(inventoryService.updateItem(itemId, request).getQuantity()).isEqualTo(2);
+        assertThat(locations(itemId)).isEqualTo(Map.of("DEFAULT", 2, "EAST", 0));
+
+        request.setQuantity(6);
+        assertThat(inventoryService.updateItem(itemId, request).getQuantity()).isEqualTo(6);
+        assertThat(locations(itemId)).isEqualTo(Map.of("DEFAULT", 6, "EAST", 0));
+    }
+
+    @Test
+    void quantityUpdateWorksWhenAllStockIsOutsideTheDefaultWarehouse() {
+        String itemId = createItem(0);
+        warehouseStockService.addStock(itemId, "EAST", stock(10));
+
+        UpdateInventoryItemRequest request = new UpdateInventoryItemRequest();
+        request.setQuantity(4);
+
+        assertThat(inventoryService.updateItem(itemId, request).getQuantity()).isEqualTo(4);
+        assertThat(locations(itemId)).isEqualTo(Map.of("EAST", 4));
+    }
+
+    @Test
+    void itemTotalIsRolledUpOutsideTheWriteTransaction() {
+        String itemId = createItem(10);
+
+        LocationStockDto location = warehouseStockService.addStock(itemId, "EAST", stock(7));
+
+        assertThat(location.getTotalQuantity()).isEqualTo(17);
+        assertThat(jpaInventoryRepository.findById(itemId)).map(InventoryItem::getQuantity).contains(10);
+
+        locationStockRollup.rollup();
+
+        assertThat(jpaInventoryRepository.findById(itemId)).map(InventoryItem::getQuantity).contains(17);
+    }
+
+    @Test
+    void rollupAndReconcileOnlyTouchItemsWhoseTotalChanged() {
+        String itemId = createItem(10);
+        locationStockRollup.rollup();
+        LocalDateTime updatedAt = jpaInventoryRepository.findById(itemId).orElseThrow().getUpdatedAt();
+
+        warehouseStockService.addStock(itemId, "EAST", stock(5));
+        warehouseStockService.reduceStock(itemId, "EAST", stock(5));
+        locationStockRollup.rollup();
+        locationStockRollup.reconcile();
+
+        assertThat(jpaInventoryRepository.findById(itemId).orElseThrow().getUpdatedAt()).isEqualTo(updatedAt);
+
+        // A total left stale is repaired on startup without claiming the item changed now.
+        transactionTemplate.executeWithoutResult(status -> jpaLocationStockRepository.addQuantity(
+                UUID.randomUUID().toString(), itemId, "WEST", 3, LocalDateTime.now()));
+        locationStockRollup.reconcile();
+
+        InventoryItem item = jpaInventoryRepository.findById(itemId).orElseThrow();
+        assertThat(item.getQuantity()).isEqualTo(13);
+        assertThat(item.getUpdatedAt()).isEqualTo(updatedAt);
+    }
+
+    @Test
+    void firstLocationWriteMovesExistingStockToTheDefaultWarehouse() {
+        InventoryItem legacy = jpaInventoryRepository.save(InventoryItem.builder()
+                .name("Legacy")
+                .category("Tools")
+                .quantity(30)
+                .price(BigDecimal.ONE)
+                .minimumStockLevel(5)
+                .build());
+
+        concurrently(() -> warehouseStockService.addStock(legacy.getId(), "EAST", stock(1)));
+        locationStockRollup.rollup();
+
+        assertThat(locations(legacy.getId())).isEqualTo(Map.of("DEFAULT", 30, "EAST", THREADS));
+        assertThat(jpaInventoryRepository.findById(legacy.getId()))
+                .map(InventoryItem::getQuantity).contains(30 + THREADS);
+
+        // The moved stock is recorded as an opening balance, so the ledger adds up to the same total.
+        stockMovementRecorder.flush();
+        assertThat(stockLedgerService.getStockAt(legacy.getId(), LocalDateTime.now())).isEqualTo(30 + THREADS);
+    }
+
+    @Test
+    void concurrentFirstAddsToAWarehouseAllSucceed() {
+        String itemId = createItem(0);
+
+        concurrently(() -> warehouseStockService.addStock(itemId, "WEST", stock(2)));
+
+        assertThat(locations(itemId)).isEqualTo(Map.of("WEST", 2 * THREADS));
+    }
+
+    @Test
+    void deletingAnItemRemovesItsLocations() {
+        String itemId = createItem(10);
+        warehouseStockService.addStock(itemId, "EAST", stock(5));
+
+        inventoryService.deleteItem(itemId);
+
+        assertThat(jpaLocationStockRepository.findByItemIdOrderByQuantityDesc(itemId)).isEmpty();
+    }
+
+    @Test
+    void rejectsNonPositiveStockChanges() throws Exception {
+        String itemId = createItem(10);
+
+        for (String quantity : List.of("0", "-5")) {
+            mockMvc.perform(post("/api/v1/inventory/{id}/locations/EAST/stock/add", itemId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"quantity\":" + quantity + "}"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/api/v1/inventory/{id}/stock/reduce", itemId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"quantity\":" + quantity + "}"))
+                    .andExpect(status().isBadRequest());
+        }
+        assertThat(locations(itemId)).isEqualTo(Map.of("DEFAULT", 10));
+    }
+
+    @Test
+    void rejectsOverlongReasons() throws Exception {
+        String itemId = createItem(10);
+
+        mockMvc.perform(post("/api/v1/inventory/{id}/stock/add", itemId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":1,\"reason\":\"" + "x".repeat(256) + "\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/inventory/{id}/stock/add", itemId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":1,\"reason\":\"" + "x".repeat(255) + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private String createItem(int quantity) {
+        CreateInventoryItemRequest request = new CreateInventoryItemRequest();
+        request.setName("Widget");
+        request.setCategory("Tools");
+        request.setQuantity(quantity);
+        request.setPrice(BigDecimal.TEN);
+        request.setMinimumStockLevel(5);
+        return inventoryService.createItem(request).getId();
+    }
+
+    private Map<String, Integer> locations(String itemId) {
+        return warehouseStockService.getLocations(itemId).stream()
+                .collect(Collectors.toMap(LocationStockDto::getWarehouseCode, LocationStockDto::getQuantity));
+    }
+
+    private static StockUpdateRequest stock(int quantity) {
+        return StockUpdateRequest.builder().quantity(quantity).reason("test").build();
+    }
+
+    private static void concurrently(Callable<?> task) {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (Exception ex) {
+            throw new AssertionError(ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.inventoryservice.warmup;
+
+import com.example.inventoryservice.config.WarmupProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessFrequencyTrackerTests {
+
+    // Three tracked items give the minimum sketch width of 1024 and so a decay period of 10240 accesses.
+    private static final int DECAY_PERIOD = 10 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void ranksItemsByAccessCount() {
+        AccessFrequencyTracker tracker = tracker(3);
+
+        record(tracker, "a", 5);
+        record(tracker, "b", 20);
+        record(tracker, "c", 10);
+
+        assertThat(tracker.hottest(3)).containsExactly("b", "c", "a");
+        assertThat(tracker.hottest(1)).containsExactly("b");
+        assertThat(tracker.estimate("b")).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void itemThatBecomesHotLaterEvictsTheColdestTrackedItem() {
+        AccessFrequencyTracker tracker = tracker(3);
+        record(tracker, "a", 30);
+        record(tracker, "b", 20);
+        record(tracker, "c", 10);
+
+        record(tracker, "d", 5);
+        assertThat(tracker.hottest(3)).containsExactly("a", "b", "c");
+
+        record(tracker, "d", 20);
+
+        assertThat(tracker.hottest(3)).containsExactly("a", "d", "b");
+    }
+
+    @Test
+    void trackedItemsStayBoundedUnderManyDistinctIds() {
+        AccessFrequencyTracker tracker = tracker(3);
+        record(tracker, "hot", 50);
+
+        for (int i = 0; i < 5_000; i++) {
+            tracker.record("once-" + i);
+        }
+
+        assertThat(tracker.hottest(10)).hasSize(3).first().isEqualTo("hot");
+    }
+
+    @Test
+    void largeSetAdmitsHotItemsBySamplingForAColdMember() {
+        AccessFrequencyTracker tracker = tracker(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            tracker.record("cold-" + i);
+        }
+        assertThat(tracker.hottest(2_000)).hasSize(1_000);
+
+        record(tracker, "hot", 50);
+
+        assertThat(tracker.hottest(2_000)).hasSize(1_000);
+        assertThat(tracker.hottest(1)).containsExactly("hot");
+    }
+
+    @Test
+    void countsAreHalvedEveryDecayPeriod() {
+        AccessFrequencyTracker tracker = tracker(3);
+        record(tracker, "old", 1_000);
+        long before = tracker.estimate("old");
+
+        record(tracker, "filler", DECAY_PERIOD - 1_000);
+
+        assertThat(tracker.estimate("old")).isEqualTo(before / 2);
+        assertThat(tracker.hottest(2)).containsExactly("filler", "old");
+    }
+
+    @Test
+    void persistedCountsAreHalvedWhenLoaded() throws IOException {
+        AccessFrequencyTracker tracker = tracker(3);
+        record(tracker, "a", 40);
+        record(tracker, "b", 10);
+        tracker.persist();
+
+        List<String> lines = Files.readAllLines(tempDir.resolve("access-frequency.txt"));
+        assertThat(lines).containsExactly("a,40", "b,10");
+
+        AccessFrequencyTracker restarted = tracker(3);
+        restarted.load();
+
+        assertThat(restarted.hottest(3)).containsExactly("a", "b");
+        assertThat(restarted.estimate("a")).isEqualTo(20);
+        assertThat(restarted.estimate("b")).isEqualTo(5);
+    }
+
+    @Test
+    void loadIgnoresMissingAndMalformedFiles() throws IOException {
+        AccessFrequencyTracker tracker = tracker(3);
+        tracker.load();
+        assertThat(tracker.hottest(3)).isEmpty();
+
+        Files.writeString(tempDir.resolve("access-frequency.txt"), "a,8\nno-separator\nb,not-a-number\n");
+        tracker.load();
+
+        assertThat(tracker.hottest(3)).containsExactly("a");
+    }
+
+    @Test
+    void ignoresAccessesWhileRecordingIsOff() {
+        AccessFrequencyTracker tracker = tracker(3);
+        tracker.setRecording(false);
+        record(tracker, "a", 10);
+        tracker.setRecording(true);
+        tracker.record("b");
+
+        assertThat(tracker.hottest(3)).containsExactly("b");
+        assertThat(tracker.estimate("a")).isZero();
+    }
+
+    private AccessFrequencyTracker tracker(int maxTrackedItems) {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setMaxTrackedItems(maxTrackedItems);
+        properties.setSketchFile(tempDir.resolve("access-frequency.txt").toString());
+        return new AccessFrequencyTracker(properties);
+    }
+
+    private static void record(AccessFrequencyTracker tracker, String itemId, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(itemId);
+        }
+    }
+}
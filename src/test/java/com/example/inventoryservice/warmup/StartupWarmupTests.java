@@ -0,0 +1,34 @@
+package com.example.inventoryservice.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "inventory.warmup.enabled=true",
+        "inventory.warmup.iterations=4"
+})
+@ActiveProfiles("test")
+class StartupWarmupTests {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void warmsUpThroughTheHttpStack() {
+        assertThat(meterRegistry.get("inventory.warmup.duration").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests")
+                .tag("uri", "/api/v1/inventory/stats/count")
+                .timers())
+                .extracting(timer -> timer.getId().getTag("outcome"))
+                .containsOnly("SUCCESS");
+        assertThat(meterRegistry.get("http.server.requests")
+                .tag("uri", "/api/v1/inventory/stats/count")
+                .timers().stream().mapToLong(timer -> timer.count()).sum())
+                .isEqualTo(4);
+    }
+}